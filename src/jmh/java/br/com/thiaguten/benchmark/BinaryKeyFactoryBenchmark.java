@@ -0,0 +1,84 @@
+package br.com.thiaguten.benchmark;
+
+import br.com.thiaguten.BinaryKeyFactory;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteCacheMyPreferredWay2;
+import br.com.thiaguten.model.PersonPK;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.binary.BinaryObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of building a PersonPK binary key: builder, toBinary of the POJO and BinaryKeyFactory.
+// Add "-prof gc" to the command line to compare the allocation rate per key as well.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BinaryKeyFactoryBenchmark {
+
+  @Param({"BINARY_CACHE_DDL", "MY_PREFERRED_WAY_2"})
+  public CacheVariant variant;
+
+  private String typeName;
+  private Ignite ignite;
+  private IgniteBinary binary;
+  private BinaryKeyFactory keyFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    ignite = Environment.newIgnite();
+    binary = ignite.binary();
+
+    // The caches register the key type (and its affinity key) before any key is built
+    variant.createCaches(ignite);
+    typeName = variant == CacheVariant.MY_PREFERRED_WAY_2
+        ? IgniteCacheMyPreferredWay2.PERSON_KEY_TYPE
+        : Environment.PERSON_KEY_TYPE;
+    keyFactory = BinaryKeyFactory.personKeys(ignite, typeName);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public BinaryObject builder() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return binary.builder(typeName)
+        .setField(BinaryKeyFactory.ID, random.nextLong())
+        .setField(BinaryKeyFactory.CITY_ID, random.nextLong())
+        .build();
+  }
+
+  @Benchmark
+  public BinaryObject toBinary() {
+    // Always the POJO PersonPK type, the reflective baseline whatever the variant is
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return binary.toBinary(new PersonPK(random.nextLong(), random.nextLong()));
+  }
+
+  @Benchmark
+  public BinaryObject keyFactory() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return keyFactory.create(random.nextLong(), random.nextLong());
+  }
+
+}
@@ -0,0 +1,171 @@
+package br.com.thiaguten.benchmark;
+
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBinaryCacheConfig;
+import br.com.thiaguten.IgniteBinaryCacheDDL;
+import br.com.thiaguten.IgniteCacheMyPreferredWay1;
+import br.com.thiaguten.IgniteCacheMyPreferredWay2;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import br.com.thiaguten.IgniteModelCacheDDL;
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import br.com.thiaguten.model2.CityPK;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+
+// The eight ways the samples define the City/Person caches. Each one knows how to create its caches
+// and how to build keys and values in the form its caches expect.
+public enum CacheVariant {
+
+  MODEL_CACHE_CONFIG(false) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteModelCacheConfig.createCaches(ignite);
+    }
+  },
+
+  BINARY_CACHE_CONFIG(true) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteBinaryCacheConfig.createCaches(ignite);
+    }
+  },
+
+  MODEL_CACHE_DDL(false) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteModelCacheDDL.createCaches(ignite);
+    }
+  },
+
+  BINARY_CACHE_DDL(true) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteBinaryCacheDDL.createCaches(ignite);
+    }
+  },
+
+  MODEL_CACHE_DDL_WITH_JDBC(false) {
+    @Override
+    public void createCaches(Ignite ignite) throws Exception {
+      Environment.createJdbcTablesAndIndexes();
+    }
+  },
+
+  BINARY_CACHE_DDL_WITH_JDBC(true) {
+    @Override
+    public void createCaches(Ignite ignite) throws Exception {
+      Environment.createJdbcTablesAndIndexes();
+    }
+  },
+
+  MY_PREFERRED_WAY_1(true) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteCacheMyPreferredWay1.createCaches(ignite);
+    }
+
+    @Override
+    public Object cityKey(IgniteBinary binary, long id) {
+      return binary.toBinary(new CityPK(id));
+    }
+
+    @Override
+    public Object cityValue(IgniteBinary binary, long id, String name) {
+      return binary.toBinary(new br.com.thiaguten.model2.City(name));
+    }
+
+    @Override
+    public Object personKey(IgniteBinary binary, long id, long cityId) {
+      return binary.toBinary(new PersonPK(id, cityId));
+    }
+
+    @Override
+    public Object personValue(IgniteBinary binary, String name) {
+      return binary.toBinary(new Person(name));
+    }
+  },
+
+  MY_PREFERRED_WAY_2(true) {
+    @Override
+    public void createCaches(Ignite ignite) {
+      IgniteCacheMyPreferredWay2.createCaches(ignite);
+    }
+
+    @Override
+    public Object cityKey(IgniteBinary binary, long id) {
+      return binary.builder(IgniteCacheMyPreferredWay2.CITY_KEY_TYPE)
+          .setField("ID", id)
+          .build();
+    }
+
+    @Override
+    public Object cityValue(IgniteBinary binary, long id, String name) {
+      return binary.builder(IgniteCacheMyPreferredWay2.CITY_VALUE_TYPE)
+          .setField("NAME", name)
+          .build();
+    }
+
+    @Override
+    public Object personKey(IgniteBinary binary, long id, long cityId) {
+      return binary.builder(IgniteCacheMyPreferredWay2.PERSON_KEY_TYPE)
+          .setField("ID", id)
+          .setField("CITY_ID", cityId)
+          .build();
+    }
+
+    @Override
+    public Object personValue(IgniteBinary binary, String name) {
+      return binary.builder(IgniteCacheMyPreferredWay2.PERSON_VALUE_TYPE)
+          .setField("NAME", name)
+          .build();
+    }
+  };
+
+  private final boolean keepBinary;
+
+  CacheVariant(boolean keepBinary) {
+    this.keepBinary = keepBinary;
+  }
+
+  public boolean isKeepBinary() {
+    return keepBinary;
+  }
+
+  public abstract void createCaches(Ignite ignite) throws Exception;
+
+  public Object cityKey(IgniteBinary binary, long id) {
+    return id;
+  }
+
+  public Object cityValue(IgniteBinary binary, long id, String name) {
+    if (!keepBinary) {
+      return new City(id, name);
+    }
+    return binary.builder(Environment.CITY_VALUE_TYPE)
+        .setField("id", id)
+        .setField("name", name)
+        .build();
+  }
+
+  public Object personKey(IgniteBinary binary, long id, long cityId) {
+    if (!keepBinary) {
+      return new PersonPK(id, cityId);
+    }
+    return binary.builder(Environment.PERSON_KEY_TYPE)
+        .setField("id", id)
+        .setField("city_id", cityId)
+        .build();
+  }
+
+  public Object personValue(IgniteBinary binary, String name) {
+    if (!keepBinary) {
+      return new Person(name);
+    }
+    return binary.builder(Environment.PERSON_VALUE_TYPE)
+        .setField("name", name)
+        .build();
+  }
+
+}
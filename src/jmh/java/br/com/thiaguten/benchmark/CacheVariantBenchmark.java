@@ -0,0 +1,171 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import br.com.thiaguten.Environment;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntry;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compares the cost of each cache definition style on the same embedded node and the same data set.
+// Run with: java -jar target/benchmarks.jar CacheVariantBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CacheVariantBenchmark {
+
+  private static final String INSERT_PERSON =
+      "INSERT INTO Person (id, city_id, name) VALUES (?, ?, ?)";
+
+  private static final String SELECT_PERSON =
+      "SELECT name FROM Person WHERE id = ? AND city_id = ?";
+
+  private static final String SELECT_JOIN =
+      "SELECT p.name, c.name FROM Person p, City c WHERE p.city_id = c.id AND c.id = ?";
+
+  @Param({
+      "MODEL_CACHE_CONFIG",
+      "BINARY_CACHE_CONFIG",
+      "MODEL_CACHE_DDL",
+      "BINARY_CACHE_DDL",
+      "MODEL_CACHE_DDL_WITH_JDBC",
+      "BINARY_CACHE_DDL_WITH_JDBC",
+      "MY_PREFERRED_WAY_1",
+      "MY_PREFERRED_WAY_2"})
+  public CacheVariant variant;
+
+  @Param("100")
+  public int cities;
+
+  @Param("100")
+  public int personsPerCity;
+
+  @Param("10")
+  public int batchSize;
+
+  private Ignite ignite;
+  private IgniteCache<Object, Object> cityCache;
+  private IgniteCache<Object, Object> personCache;
+
+  private Object[] personKeys;
+  private Object[] personValues;
+  private long[] personIds;
+  private long[] personCityIds;
+  private AtomicLong nextPersonId;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    ignite = Environment.newIgnite();
+    variant.createCaches(ignite);
+
+    cityCache = cache(CITY_CACHE_NAME);
+    personCache = cache(PERSON_CACHE_NAME);
+
+    IgniteBinary binary = ignite.binary();
+    int persons = cities * personsPerCity;
+    personKeys = new Object[persons];
+    personValues = new Object[persons];
+    personIds = new long[persons];
+    personCityIds = new long[persons];
+
+    // Keys and values are built up-front, so the benchmarks measure the cache and not the builders
+    for (long cityId = 1; cityId <= cities; cityId++) {
+      cityCache.put(variant.cityKey(binary, cityId), variant.cityValue(binary, cityId, "City " + cityId));
+    }
+    for (int i = 0; i < persons; i++) {
+      long id = i + 1;
+      long cityId = (i % cities) + 1;
+      personIds[i] = id;
+      personCityIds[i] = cityId;
+      personKeys[i] = variant.personKey(binary, id, cityId);
+      personValues[i] = variant.personValue(binary, "Person " + id);
+      personCache.put(personKeys[i], personValues[i]);
+    }
+    nextPersonId = new AtomicLong(persons);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public void put() {
+    int i = randomPerson();
+    personCache.put(personKeys[i], personValues[i]);
+  }
+
+  @Benchmark
+  public Object get() {
+    return personCache.get(personKeys[randomPerson()]);
+  }
+
+  @Benchmark
+  public Collection<CacheEntry<Object, Object>> getEntries() {
+    Set<Object> keys = new HashSet<>();
+    for (int i = 0; i < batchSize; i++) {
+      keys.add(personKeys[randomPerson()]);
+    }
+    return personCache.getEntries(keys);
+  }
+
+  @Benchmark
+  public List<List<?>> sqlInsert() {
+    long id = nextPersonId.incrementAndGet();
+    long cityId = (id % cities) + 1;
+    SqlFieldsQuery insert = new SqlFieldsQuery(INSERT_PERSON)
+        .setArgs(id, cityId, "Person " + id);
+    return personCache.query(insert).getAll();
+  }
+
+  @Benchmark
+  public List<List<?>> sqlPointSelect() {
+    int i = randomPerson();
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_PERSON)
+        .setArgs(personIds[i], personCityIds[i]);
+    return personCache.query(select).getAll();
+  }
+
+  @Benchmark
+  public List<List<?>> sqlJoin() {
+    long cityId = ThreadLocalRandom.current().nextInt(cities) + 1;
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_JOIN).setArgs(cityId);
+    return personCache.query(select).getAll();
+  }
+
+  private int randomPerson() {
+    return ThreadLocalRandom.current().nextInt(personKeys.length);
+  }
+
+  private IgniteCache<Object, Object> cache(String name) {
+    IgniteCache<Object, Object> cache = ignite.cache(name);
+    return variant.isKeepBinary() ? cache.withKeepBinary() : cache;
+  }
+
+}
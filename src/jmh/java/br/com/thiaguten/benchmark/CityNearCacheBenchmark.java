@@ -0,0 +1,102 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// City lookups from a client node, with and without the near cache. SampleTime reports the latency
+// percentiles (p50, p99, p99.9 ...) of every operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CityNearCacheBenchmark {
+
+  @Param({"false", "true"})
+  public boolean nearCache;
+
+  @Param({"false", "true"})
+  public boolean keepBinary;
+
+  @Param("1000")
+  public int cities;
+
+  @Param("10000")
+  public int nearCacheMaxSize;
+
+  @Param("10")
+  public int batchSize;
+
+  @Param("42")
+  public long seed;
+
+  private Ignite server;
+  private Ignite client;
+  private IgniteCache<Long, Object> cityCache;
+  private DatasetGenerator dataset;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = Environment.newIgnite();
+    IgniteModelCacheConfig.createCaches(server);
+    dataset = new DatasetGenerator(seed).setCities(cities);
+    new IgniteBulkLoader(server).load(CITY_CACHE_NAME, dataset.cities());
+
+    client = Environment.newIgniteClient("city-client");
+    IgniteCache<Long, Object> cache = nearCache
+        ? Environment.cityNearCache(client, nearCacheMaxSize)
+        : client.cache(CITY_CACHE_NAME);
+    cityCache = keepBinary ? cache.withKeepBinary() : cache;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    server.close();
+  }
+
+  @Benchmark
+  public Object get() {
+    return cityCache.get(randomCity());
+  }
+
+  @Benchmark
+  public Collection<CacheEntry<Long, Object>> getEntries() {
+    Set<Long> keys = new HashSet<>();
+    for (int i = 0; i < batchSize; i++) {
+      keys.add(randomCity());
+    }
+    return cityCache.getEntries(keys);
+  }
+
+  private long randomCity() {
+    return dataset.randomCityId(ThreadLocalRandom.current());
+  }
+
+}
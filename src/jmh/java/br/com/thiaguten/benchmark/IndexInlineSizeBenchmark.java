@@ -0,0 +1,165 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.CREATE_CITY_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_CITY_TABLE_DDL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_CITY_NAME_INDEX_DDL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_TABLE_DDL;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SCHEMA;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Point and range lookups by name and by city against the index inline size (-1 is Ignite's default
+// of 10 bytes, shorter than most of the 5 to 20 letter DatasetGenerator names) and the optional (city_id, name) index, with the indexes
+// defined through DDL or CacheConfiguration. The plan of every query is printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndexInlineSizeBenchmark {
+
+  private static final String BY_NAME_SQL = "SELECT id, city_id FROM Person WHERE name = ?";
+  private static final String BY_NAME_RANGE_SQL = "SELECT id, city_id FROM Person WHERE name BETWEEN ? AND ?";
+  private static final String CITY_BY_NAME_SQL = "SELECT id FROM City WHERE name = ?";
+  private static final String BY_CITY_ORDER_BY_NAME_SQL =
+      "SELECT id, name FROM Person WHERE city_id = ? ORDER BY name LIMIT 10";
+
+  @Param({"CONFIG", "DDL"})
+  public String path;
+
+  @Param({"-1", "24", "48"})
+  public int inlineSize;
+
+  @Param({"false", "true"})
+  public boolean cityNameIndex;
+
+  @Param("200000")
+  public int persons;
+
+  @Param("1000")
+  public int cities;
+
+  // Shape of the DatasetGenerator data: the city of every person picked UNIFORM or ZIPFIAN, and its seed
+  @Param("UNIFORM")
+  public String skew;
+
+  @Param("42")
+  public long seed;
+
+  private Ignite ignite;
+  private IgniteCache<?, ?> personCache;
+  private DatasetGenerator dataset;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ignite = Environment.newIgnite();
+    if ("DDL".equals(path)) {
+      IgniteCache<?, ?> entryCache = ignite.getOrCreateCache(
+          new CacheConfiguration<>("Index_Entry").setSqlSchema(SCHEMA));
+      ddl(entryCache, CREATE_CITY_TABLE_DDL);
+      ddl(entryCache, CREATE_PERSON_TABLE_DDL);
+      ddl(entryCache, Environment.withInlineSize(CREATE_CITY_NAME_INDEX_DLL, inlineSize));
+      ddl(entryCache, Environment.withInlineSize(CREATE_PERSON_NAME_INDEX_DLL, inlineSize));
+      if (cityNameIndex) {
+        ddl(entryCache, Environment.withInlineSize(CREATE_PERSON_CITY_NAME_INDEX_DDL, inlineSize));
+      }
+    } else {
+      CacheConfiguration<PersonPK, Person> personCacheConfig = Environment.withIndexInlineSize(
+          IgniteModelCacheConfig.personCacheConfiguration(), inlineSize);
+      if (cityNameIndex) {
+        Environment.withPersonCityNameIndex(personCacheConfig, inlineSize);
+      }
+      ignite.getOrCreateCache(Environment.withIndexInlineSize(
+          IgniteModelCacheConfig.cityCacheConfiguration(), inlineSize));
+      ignite.getOrCreateCache(personCacheConfig);
+    }
+
+    dataset = new DatasetGenerator(seed).setCities(cities).setPersons(persons)
+        .setSkew(DatasetGenerator.Skew.valueOf(skew));
+    dataset.load(new IgniteBulkLoader(ignite));
+
+    personCache = ignite.cache(PERSON_CACHE_NAME);
+    String name = dataset.person(1).getName();
+    explain(BY_NAME_SQL, name);
+    explain(BY_NAME_RANGE_SQL, name, name + "~");
+    explain(CITY_BY_NAME_SQL, dataset.city(1).getName());
+    explain(BY_CITY_ORDER_BY_NAME_SQL, 1L);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public long personByName() {
+    return query(BY_NAME_SQL, randomPersonName());
+  }
+
+  @Benchmark
+  public long personByNameRange() {
+    // "Abc" to "Abc~": the person and the ones whose name starts with its name
+    String from = randomPersonName();
+    return query(BY_NAME_RANGE_SQL, from, from + "~");
+  }
+
+  @Benchmark
+  public long cityByName() {
+    return query(CITY_BY_NAME_SQL, dataset.city(dataset.randomCityId(ThreadLocalRandom.current())).getName());
+  }
+
+  @Benchmark
+  public long personsOfCityByName() {
+    return query(BY_CITY_ORDER_BY_NAME_SQL, dataset.randomCityId(ThreadLocalRandom.current()));
+  }
+
+  // Computed from a random id, as the loader did, instead of looked up
+  private String randomPersonName() {
+    return dataset.person(dataset.randomPersonKey(ThreadLocalRandom.current()).getId()).getName();
+  }
+
+  private long query(String sql, Object... args) {
+    SqlFieldsQuery query = new SqlFieldsQuery(sql).setArgs(args);
+    return Environment.sqlStreamingQuery(personCache, query, SQL_PAGE_SIZE, row -> { });
+  }
+
+  private void explain(String sql, Object... args) {
+    SqlFieldsQuery explain = new SqlFieldsQuery("EXPLAIN " + sql).setArgs(args);
+    Object plan = personCache.query(explain).getAll().get(0).get(0);
+    System.out.println("> [" + path + ", inline " + inlineSize + ", city/name index " + cityNameIndex + "] "
+        + plan.toString().replaceAll("\\s+", " "));
+  }
+
+  private static void ddl(IgniteCache<?, ?> cache, String sql) {
+    cache.query(new SqlFieldsQuery(sql).setSchema(SCHEMA)).getAll();
+  }
+
+}
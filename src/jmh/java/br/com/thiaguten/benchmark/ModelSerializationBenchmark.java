@@ -0,0 +1,123 @@
+package br.com.thiaguten.benchmark;
+
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.cache.affinity.AffinityKeyMapped;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Marshal (toBinary) and unmarshal (deserialize) throughput of the Binarylizable model classes against
+// copies of them that still use the reflective binary marshalling. The serialized size of each form is
+// printed at the beginning of every trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ModelSerializationBenchmark {
+
+  @Param({"CITY", "PERSON", "PERSON_PK"})
+  public String type;
+
+  @Param({"BINARYLIZABLE", "REFLECTIVE"})
+  public String form;
+
+  private Ignite ignite;
+  private IgniteBinary binary;
+  private BinaryContext context;
+  private Object object;
+  private byte[] bytes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ignite = Environment.newIgnite();
+    binary = ignite.binary();
+
+    boolean reflective = "REFLECTIVE".equals(form);
+    switch (type) {
+      case "CITY":
+        object = reflective ? new ReflectiveCity(1L, "St. Petersburg") : new City(1L, "St. Petersburg");
+        break;
+      case "PERSON":
+        object = reflective ? new ReflectivePerson("Richard Miles") : new Person("Richard Miles");
+        break;
+      default:
+        object = reflective ? new ReflectivePersonPK(4L, 2L) : new PersonPK(4L, 2L);
+    }
+
+    BinaryObjectImpl binaryObject = binary.toBinary(object);
+    context = binaryObject.context();
+    bytes = binaryObject.array();
+    System.out.println("> [" + type + "] " + form + ": " + binaryObject.length() + " bytes per entry");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public Object marshal() {
+    return binary.toBinary(object);
+  }
+
+  @Benchmark
+  public Object unmarshal() {
+    return new BinaryObjectImpl(context, bytes, 0).deserialize();
+  }
+
+  // The model classes as they were before implementing Binarylizable
+
+  public static class ReflectiveCity {
+
+    private Long ID;
+    private String NAME;
+
+    public ReflectiveCity(Long id, String name) {
+      this.ID = id;
+      this.NAME = name;
+    }
+  }
+
+  public static class ReflectivePerson {
+
+    private String NAME;
+
+    public ReflectivePerson(String name) {
+      this.NAME = name;
+    }
+  }
+
+  public static class ReflectivePersonPK {
+
+    private Long ID;
+
+    @AffinityKeyMapped
+    private Long CITY_ID;
+
+    public ReflectivePersonPK(Long id, Long cityId) {
+      this.ID = id;
+      this.CITY_ID = cityId;
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+import static br.com.thiaguten.Environment.sqlStreamingQuery;
+
+import br.com.thiaguten.AffinityJoinEngine;
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Full Person/City join with the default settings, as a collocated SQL query and through affinityCall.
+// All nodes run in the benchmark JVM, the first one is used to submit the queries.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersonCityJoinBenchmark {
+
+  @Param({"1", "2", "4"})
+  public int nodes;
+
+  @Param("100")
+  public int cities;
+
+  @Param("100000")
+  public int persons;
+
+  // Shape of the DatasetGenerator data: the city of every person picked UNIFORM or ZIPFIAN, and its seed
+  @Param("UNIFORM")
+  public String skew;
+
+  @Param("42")
+  public long seed;
+
+  private final List<Ignite> cluster = new ArrayList<>();
+  private IgniteCache<?, ?> personCache;
+  private AffinityJoinEngine affinityJoinEngine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < nodes; i++) {
+      cluster.add(Environment.newIgnite(Environment.newIgniteConfiguration()
+          .setIgniteInstanceName("join-benchmark-" + i)));
+    }
+    Ignite ignite = cluster.get(0);
+
+    IgniteModelCacheConfig.createCaches(ignite);
+
+    new DatasetGenerator(seed).setCities(cities).setPersons(persons)
+        .setSkew(DatasetGenerator.Skew.valueOf(skew))
+        .load(new IgniteBulkLoader(ignite));
+
+    personCache = ignite.cache(PERSON_CACHE_NAME);
+    affinityJoinEngine = new AffinityJoinEngine(ignite);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cluster.forEach(Ignite::close);
+    cluster.clear();
+  }
+
+  @Benchmark
+  public long defaultJoin(Blackhole blackhole) {
+    return sqlStreamingQuery(personCache, new SqlFieldsQuery(PERSON_CITY_JOIN_SQL), SQL_PAGE_SIZE,
+        blackhole::consume);
+  }
+
+  @Benchmark
+  public long collocatedJoin(Blackhole blackhole) {
+    SqlFieldsQuery select = new SqlFieldsQuery(PERSON_CITY_JOIN_SQL)
+        .setCollocated(true)
+        .setDistributedJoins(false);
+    return sqlStreamingQuery(personCache, select, SQL_PAGE_SIZE, blackhole::consume);
+  }
+
+  @Benchmark
+  public long affinityCallJoin(Blackhole blackhole) {
+    return affinityJoinEngine.join(blackhole::consume);
+  }
+
+}
@@ -0,0 +1,149 @@
+package br.com.thiaguten.benchmark;
+
+
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import br.com.thiaguten.ZipfianDistribution;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntry;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.fifo.FifoEvictionPolicyFactory;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Person lookups with a Zipfian key distribution, with and without the on-heap tier. SampleTime reports
+// the latency percentiles (p99 ...); after every iteration the hit ratio of the tier (share of sampled
+// keys found on the heap) and the heap used on top of the node with empty caches are printed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersonOnheapTierBenchmark {
+
+  @Param({"NONE", "LRU", "FIFO"})
+  public String tier;
+
+  @Param("100000")
+  public int persons;
+
+  @Param("1000")
+  public int cities;
+
+  @Param("10000")
+  public int onheapMaxSize;
+
+  @Param("0.99")
+  public double theta;
+
+  @Param("10")
+  public int batchSize;
+
+  // Shape of the DatasetGenerator data: the city of every person picked UNIFORM or ZIPFIAN, and its seed
+  @Param("UNIFORM")
+  public String skew;
+
+  @Param("42")
+  public long seed;
+
+  private Ignite ignite;
+  private IgniteCache<PersonPK, Person> personCache;
+  private DatasetGenerator dataset;
+  private ZipfianDistribution distribution;
+  private long baselineHeap;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ignite = Environment.newIgnite();
+
+    CacheConfiguration<PersonPK, Person> personCacheConfig = IgniteModelCacheConfig.personCacheConfiguration();
+    if ("LRU".equals(tier)) {
+      Environment.withOnheapCache(personCacheConfig, new LruEvictionPolicyFactory<>(onheapMaxSize));
+    } else if ("FIFO".equals(tier)) {
+      Environment.withOnheapCache(personCacheConfig, new FifoEvictionPolicyFactory<>(onheapMaxSize));
+    }
+    ignite.getOrCreateCache(IgniteModelCacheConfig.cityCacheConfiguration());
+    personCache = ignite.getOrCreateCache(personCacheConfig);
+
+    baselineHeap = usedHeap();
+
+    dataset = new DatasetGenerator(seed).setCities(cities).setPersons(persons)
+        .setSkew(DatasetGenerator.Skew.valueOf(skew));
+    dataset.load(new IgniteBulkLoader(ignite));
+
+    // The streamer leaves the last loaded entries in the tier, the warmup iterations replace them with the hot ones
+    distribution = new ZipfianDistribution(persons, theta);
+  }
+
+  @TearDown(Level.Iteration)
+  public void report() {
+    int samples = 10_000;
+    int hits = 0;
+    for (int i = 0; i < samples; i++) {
+      if (personCache.localPeek(randomPerson(), CachePeekMode.ONHEAP) != null) {
+        hits++;
+      }
+    }
+    long onheapEntries = personCache.localSizeLong(CachePeekMode.ONHEAP);
+    long heapOverhead = usedHeap() - baselineHeap;
+    System.out.println("> [" + tier + "] hit ratio " + String.format("%.3f", (double) hits / samples)
+        + ", on-heap entries " + onheapEntries
+        + ", heap overhead " + (heapOverhead / 1024) + " KB");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public Person get() {
+    return personCache.get(randomPerson());
+  }
+
+  @Benchmark
+  public Collection<CacheEntry<PersonPK, Person>> getEntries() {
+    Set<PersonPK> keys = new HashSet<>();
+    for (int i = 0; i < batchSize; i++) {
+      keys.add(randomPerson());
+    }
+    return personCache.getEntries(keys);
+  }
+
+  private PersonPK randomPerson() {
+    // Rank 0 (the hottest person) is id 1
+    return dataset.personKey(distribution.sample(ThreadLocalRandom.current()) + 1);
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,132 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import br.com.thiaguten.PartitionScanEngine;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full Person walk from a client node: the SQL scan against the parallel per-partition ScanQuery, both
+// returning (id, city_id, name) rows, over the whole cache and with a filter on city_id.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PersonScanBenchmark {
+
+  @Param("200000")
+  public int persons;
+
+  @Param("1000")
+  public int cities;
+
+  @Param({"1", "4", "16"})
+  public int parallelism;
+
+  // Keeps the persons of one city out of cityModulo
+  @Param("10")
+  public int cityModulo;
+
+  // Shape of the DatasetGenerator data: the city of every person picked UNIFORM or ZIPFIAN, and its seed
+  @Param("UNIFORM")
+  public String skew;
+
+  @Param("42")
+  public long seed;
+
+  private Ignite server;
+  private Ignite client;
+  private IgniteCache<?, ?> personCache;
+  private ForkJoinPool pool;
+  private PartitionScanEngine engine;
+  private PartitionScanEngine.Projection projection;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = Environment.newIgnite();
+    IgniteModelCacheConfig.createCaches(server);
+    new DatasetGenerator(seed).setCities(cities).setPersons(persons)
+        .setSkew(DatasetGenerator.Skew.valueOf(skew))
+        .load(new IgniteBulkLoader(server));
+
+    client = Environment.newIgniteClient("scan-client");
+    personCache = client.cache(PERSON_CACHE_NAME);
+    pool = new ForkJoinPool(parallelism);
+    engine = new PartitionScanEngine(client, pool).setPageSize(SQL_PAGE_SIZE);
+    projection = new PartitionScanEngine.Projection(new String[] {"id", "city_id"}, new String[] {"name"});
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+    client.close();
+    server.close();
+  }
+
+  @Benchmark
+  public long sqlScan() {
+    SqlFieldsQuery query = new SqlFieldsQuery("SELECT id, city_id, name FROM Person");
+    return Environment.sqlStreamingQuery(personCache, query, SQL_PAGE_SIZE, row -> { });
+  }
+
+  @Benchmark
+  public long partitionScan() {
+    return engine.scan(PERSON_CACHE_NAME, null, projection, row -> { });
+  }
+
+  @Benchmark
+  public long sqlFilteredScan() {
+    SqlFieldsQuery query = new SqlFieldsQuery("SELECT id, city_id, name FROM Person WHERE MOD(city_id, ?) = 0")
+        .setArgs(cityModulo);
+    return Environment.sqlStreamingQuery(personCache, query, SQL_PAGE_SIZE, row -> { });
+  }
+
+  @Benchmark
+  public long partitionFilteredScan() {
+    return engine.scan(PERSON_CACHE_NAME, new CityModuloFilter(cityModulo), projection, row -> { });
+  }
+
+  // Runs on the server nodes, reads a single field of the binary key without deserializing it
+  public static class CityModuloFilter implements IgniteBiPredicate<BinaryObject, BinaryObject> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long modulo;
+
+    public CityModuloFilter(long modulo) {
+      this.modulo = modulo;
+    }
+
+    @Override
+    public boolean apply(BinaryObject key, BinaryObject value) {
+      long cityId = key.field("city_id");
+      return cityId % modulo == 0;
+    }
+  }
+
+}
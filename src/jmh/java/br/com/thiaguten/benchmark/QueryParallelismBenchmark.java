@@ -0,0 +1,109 @@
+package br.com.thiaguten.benchmark;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.DatasetGenerator;
+import br.com.thiaguten.Environment;
+import br.com.thiaguten.IgniteBulkLoader;
+import br.com.thiaguten.IgniteModelCacheConfig;
+import br.com.thiaguten.IgniteModelCacheDDL;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Person scan, GROUP BY and Person/City join against the query parallelism of the Person table, set
+// through the CacheConfiguration or the DDL path. Compare the sweep with the core count printed at the
+// beginning of every trial: past it the extra segments only add merge work.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QueryParallelismBenchmark {
+
+  @Param({"CONFIG", "DDL"})
+  public String path;
+
+  @Param({"1", "2", "4", "8"})
+  public int queryParallelism;
+
+  @Param("200000")
+  public int persons;
+
+  @Param("1000")
+  public int cities;
+
+  // Shape of the DatasetGenerator data: the city of every person picked UNIFORM or ZIPFIAN, and its seed
+  @Param("UNIFORM")
+  public String skew;
+
+  @Param("42")
+  public long seed;
+
+  private Ignite ignite;
+  private IgniteCache<?, ?> personCache;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ignite = Environment.newIgnite();
+    if ("DDL".equals(path)) {
+      IgniteModelCacheDDL.createCaches(ignite, queryParallelism);
+    } else {
+      IgniteModelCacheConfig.createCaches(ignite, queryParallelism);
+    }
+
+    new DatasetGenerator(seed).setCities(cities).setPersons(persons)
+        .setSkew(DatasetGenerator.Skew.valueOf(skew))
+        .load(new IgniteBulkLoader(ignite));
+
+    personCache = ignite.cache(PERSON_CACHE_NAME);
+    @SuppressWarnings("unchecked")
+    CacheConfiguration<?, ?> personCacheConfig = personCache.getConfiguration(CacheConfiguration.class);
+    int actual = personCacheConfig.getQueryParallelism();
+    System.out.println("> [" + path + "] query parallelism " + actual
+        + ", cores " + Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ignite.close();
+  }
+
+  @Benchmark
+  public long scan() {
+    // No index on the predicate, every segment walks its rows
+    return query("SELECT id, name FROM Person WHERE name LIKE '%z'");
+  }
+
+  @Benchmark
+  public long groupBy() {
+    return query("SELECT city_id, COUNT(*) FROM Person GROUP BY city_id");
+  }
+
+  @Benchmark
+  public long join() {
+    return query("SELECT c.name, COUNT(*) FROM Person p, City c WHERE p.city_id = c.id GROUP BY c.name");
+  }
+
+  private long query(String sql) {
+    return Environment.sqlStreamingQuery(personCache, new SqlFieldsQuery(sql), SQL_PAGE_SIZE, row -> { });
+  }
+
+}
@@ -0,0 +1,71 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_SQL;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.resources.IgniteInstanceResource;
+
+// Runs the Person/City join as one local SQL query per Person partition, shipped with affinityCall to
+// the node that owns the partition. The partition stays locked on that node while the query runs, so
+// the local result is consistent even during rebalancing.
+public class AffinityJoinEngine {
+
+  // Only Person is locked: City is REPLICATED (every node has all of it) and has a different partition count
+  private static final Collection<String> CACHE_NAMES = Collections.singletonList(PERSON_CACHE_NAME);
+
+  private final Ignite ignite;
+
+  public AffinityJoinEngine(Ignite ignite) {
+    this.ignite = ignite;
+  }
+
+  public long join(Consumer<List<?>> rowConsumer) {
+    int partitions = ignite.affinity(PERSON_CACHE_NAME).partitions();
+
+    List<IgniteFuture<List<List<?>>>> futures = new ArrayList<>(partitions);
+    for (int part = 0; part < partitions; part++) {
+      futures.add(ignite.compute().affinityCallAsync(CACHE_NAMES, part, new LocalJoin(part)));
+    }
+
+    long rows = 0;
+    for (IgniteFuture<List<List<?>>> future : futures) {
+      for (List<?> row : future.get()) {
+        rowConsumer.accept(row);
+        rows++;
+      }
+    }
+    return rows;
+  }
+
+  private static class LocalJoin implements IgniteCallable<List<List<?>>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int partition;
+
+    @IgniteInstanceResource
+    private transient Ignite ignite;
+
+    LocalJoin(int partition) {
+      this.partition = partition;
+    }
+
+    @Override
+    public List<List<?>> call() {
+      SqlFieldsQuery select = new SqlFieldsQuery(PERSON_CITY_JOIN_SQL)
+          .setLocal(true)
+          .setPartitions(partition);
+      return ignite.cache(PERSON_CACHE_NAME).query(select).getAll();
+    }
+  }
+
+}
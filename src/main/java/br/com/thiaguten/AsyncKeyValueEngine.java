@@ -0,0 +1,88 @@
+package br.com.thiaguten;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.lang.IgniteFuture;
+
+// Pipelines key-value operations on getAsync/getAllAsync/putAsync: a single thread keeps up to
+// maxInFlight requests on the network instead of waiting for every round trip. When that many are
+// pending, the next call blocks until one completes, which bounds the memory held by pending requests
+// and pushes back on the caller.
+//
+// The permits are released from the future listeners, so never call the engine from a listener (or a
+// future chained to one): it could block the thread that completes the operations it waits for.
+public class AsyncKeyValueEngine<K, V> {
+
+  private final IgniteCache<K, V> cache;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  public AsyncKeyValueEngine(IgniteCache<K, V> cache, int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    }
+    this.cache = cache;
+    this.maxInFlight = maxInFlight;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  public IgniteFuture<V> get(K key) {
+    return submit(() -> cache.getAsync(key));
+  }
+
+  public IgniteFuture<Map<K, V>> getAll(Set<? extends K> keys) {
+    return submit(() -> cache.getAllAsync(keys));
+  }
+
+  public IgniteFuture<Void> put(K key, V value) {
+    return submit(() -> cache.putAsync(key, value));
+  }
+
+  public IgniteFuture<Void> putAll(Map<? extends K, ? extends V> entries) {
+    return submit(() -> cache.putAllAsync(entries));
+  }
+
+  public int getInFlight() {
+    return maxInFlight - inFlight.availablePermits();
+  }
+
+  // Waits for every pending operation and rethrows the first failure since the previous flush, so
+  // fire-and-forget puts do not fail silently
+  public void flush() {
+    inFlight.acquireUninterruptibly(maxInFlight);
+    inFlight.release(maxInFlight);
+
+    Throwable error = failure.getAndSet(null);
+    if (error != null) {
+      throw new IgniteException("Asynchronous cache operation failed", error);
+    }
+  }
+
+  private <T> IgniteFuture<T> submit(Supplier<IgniteFuture<T>> operation) {
+    inFlight.acquireUninterruptibly();
+    IgniteFuture<T> future;
+    try {
+      future = operation.get();
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+    future.listen(f -> {
+      try {
+        f.get();
+      } catch (RuntimeException e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        inFlight.release();
+      }
+    });
+    return future;
+  }
+
+}
@@ -0,0 +1,129 @@
+package br.com.thiaguten;
+
+import java.util.Arrays;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectBuilder;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+
+// Creates binary keys made of long fields (PersonPK, CityPK and their PKey/CKey aliases) without going
+// through a BinaryObjectBuilder on every call.
+//
+// The builder is used once to produce a template key. Its byte layout (header, field offsets, schema
+// footer) is then reused: each new key is a copy of the template with the field values patched in
+// and the hash code recomputed, so creating a key costs one byte[] copy and one BinaryObjectImpl.
+// The layout is checked against the builder when the factory is created, so an incompatible Ignite
+// version fails fast instead of producing keys that never match.
+//
+// Create the factory after the caches: the first builder call registers the type metadata, and if the
+// cache definition has not registered it yet the affinity key (CITY_ID) would be missing from it.
+public class BinaryKeyFactory {
+
+  public static final String ID = "ID";
+  public static final String CITY_ID = "CITY_ID";
+
+  private static final long[] SENTINELS = {0x0102030405060708L, 0x1112131415161718L};
+
+  private final BinaryContext context;
+  private final byte[] template;
+  private final int[] offsets;
+  private final int dataStart;
+  private final int dataEnd;
+
+  public BinaryKeyFactory(Ignite ignite, String typeName, String... fieldNames) {
+    if (fieldNames.length == 0 || fieldNames.length > SENTINELS.length) {
+      throw new IllegalArgumentException("Unsupported number of key fields: " + fieldNames.length);
+    }
+
+    BinaryObjectBuilder builder = ignite.binary().builder(typeName);
+    for (int i = 0; i < fieldNames.length; i++) {
+      builder.setField(fieldNames[i], SENTINELS[i]);
+    }
+    BinaryObjectImpl prototype = (BinaryObjectImpl) builder.build();
+
+    context = prototype.context();
+    template = Arrays.copyOfRange(prototype.array(), prototype.start(), prototype.start() + prototype.length());
+    dataStart = prototype.dataStartOffset() - prototype.start();
+    dataEnd = prototype.footerStartOffset() - prototype.start();
+
+    offsets = new int[fieldNames.length];
+    for (int i = 0; i < fieldNames.length; i++) {
+      offsets[i] = offsetOf(SENTINELS[i]);
+    }
+
+    verify(ignite, typeName, fieldNames);
+  }
+
+  public static BinaryKeyFactory personKeys(Ignite ignite, String typeName) {
+    return new BinaryKeyFactory(ignite, typeName, ID, CITY_ID);
+  }
+
+  public static BinaryKeyFactory cityKeys(Ignite ignite, String typeName) {
+    return new BinaryKeyFactory(ignite, typeName, ID);
+  }
+
+  public BinaryObject create(long field0) {
+    byte[] arr = template.clone();
+    writeLong(arr, offsets[0], field0);
+    return wrap(arr);
+  }
+
+  public BinaryObject create(long field0, long field1) {
+    byte[] arr = template.clone();
+    writeLong(arr, offsets[0], field0);
+    writeLong(arr, offsets[1], field1);
+    return wrap(arr);
+  }
+
+  private BinaryObject wrap(byte[] arr) {
+    // Same hash as BinaryArrayIdentityResolver: computed over the field data, between header and footer
+    int hash = 1;
+    for (int i = dataStart; i < dataEnd; i++) {
+      hash = 31 * hash + arr[i];
+    }
+    writeInt(arr, GridBinaryMarshaller.HASH_CODE_POS, hash);
+    return new BinaryObjectImpl(context, arr, 0);
+  }
+
+  private int offsetOf(long sentinel) {
+    byte[] expected = new byte[8];
+    writeLong(expected, 0, sentinel);
+    for (int i = dataStart; i <= dataEnd - expected.length; i++) {
+      if (template[i - 1] == GridBinaryMarshaller.LONG
+          && Arrays.equals(expected, Arrays.copyOfRange(template, i, i + expected.length))) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("Unexpected binary key layout: long field not found");
+  }
+
+  private void verify(Ignite ignite, String typeName, String... fieldNames) {
+    long[] values = {7L, 42L};
+    BinaryObjectBuilder builder = ignite.binary().builder(typeName);
+    for (int i = 0; i < fieldNames.length; i++) {
+      builder.setField(fieldNames[i], values[i]);
+    }
+    BinaryObject expected = builder.build();
+    BinaryObject actual = fieldNames.length == 1 ? create(values[0]) : create(values[0], values[1]);
+    if (!expected.equals(actual) || expected.hashCode() != actual.hashCode()) {
+      throw new IllegalStateException("Binary key layout of " + typeName + " does not match the builder");
+    }
+  }
+
+  // Binary objects are little-endian
+
+  private static void writeLong(byte[] arr, int off, long val) {
+    for (int i = 0; i < 8; i++) {
+      arr[off + i] = (byte) (val >>> (8 * i));
+    }
+  }
+
+  private static void writeInt(byte[] arr, int off, int val) {
+    for (int i = 0; i < 4; i++) {
+      arr[off + i] = (byte) (val >>> (8 * i));
+    }
+  }
+
+}
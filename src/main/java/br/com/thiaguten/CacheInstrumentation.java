@@ -0,0 +1,209 @@
+package br.com.thiaguten;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.Query;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.lang.IgniteFuture;
+
+// Records the latency of the cache operations made through an instrumented cache (get*, put*, remove*,
+// query, invoke* and their async forms), one histogram per cache and operation ("City get", "City binary
+// get", "Person getEntries" ...). SQL is broken down per query text. The other IgniteCache methods
+// (getName, getConfiguration, queryMetrics, iterator, with* ...) are passed straight through.
+//
+// instrument() returns a dynamic proxy of the IgniteCache interface, so it works for any key/value
+// types, and the caches returned by withKeepBinary() and the other with* methods are instrumented too.
+// The latency of a query is measured until its cursor is closed or getAll() returns, so lazy queries
+// include the time spent fetching the pages; the latency of an async operation (getAsync ...) is
+// measured until its future completes.
+public class CacheInstrumentation implements AutoCloseable {
+
+  private static final String[] OPERATION_PREFIXES = {"get", "put", "remove", "query", "invoke"};
+  // Start like an operation but only read local state of the proxy or the metrics
+  private static final Set<String> NON_OPERATIONS = new HashSet<>(Arrays.asList(
+      "getName", "getConfiguration", "queryMetrics", "queryDetailMetrics"));
+
+  private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private ScheduledExecutorService reporter;
+  private long lastReport = System.nanoTime();
+
+  public <K, V> IgniteCache<K, V> instrument(IgniteCache<K, V> cache) {
+    return instrument(cache, cache.getName());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <K, V> IgniteCache<K, V> instrument(IgniteCache<K, V> cache, String label) {
+    return (IgniteCache<K, V>) Proxy.newProxyInstance(IgniteCache.class.getClassLoader(),
+        new Class<?>[] {IgniteCache.class}, new CacheHandler(cache, label));
+  }
+
+  public LatencyHistogram histogram(String operation) {
+    return histograms.computeIfAbsent(operation, op -> new LatencyHistogram());
+  }
+
+  // Prints (and resets) the histograms every period, from a daemon thread
+  public synchronized CacheInstrumentation startReporting(long period, TimeUnit unit) {
+    if (reporter == null) {
+      reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-latency-reporter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      reporter.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+    return this;
+  }
+
+  // Operations and their latencies since the previous report
+  public synchronized void report() {
+    long now = System.nanoTime();
+    double seconds = (now - lastReport) / (double) TimeUnit.SECONDS.toNanos(1);
+    lastReport = now;
+
+    System.out.println("> Cache latency over the last " + String.format("%.1f", seconds) + " s:");
+    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+      LatencyHistogram.Snapshot snapshot = entry.getValue().snapshotAndReset();
+      if (snapshot.getCount() > 0) {
+        System.out.println("\t" + entry.getKey() + ": " + snapshot
+            + ", " + String.format("%.1f", snapshot.getCount() / seconds) + " ops/sec");
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (reporter != null) {
+      reporter.shutdownNow();
+      reporter = null;
+    }
+  }
+
+  private static boolean isOperation(Method method) {
+    String name = method.getName();
+    if (NON_OPERATIONS.contains(name)) {
+      return false;
+    }
+    for (String prefix : OPERATION_PREFIXES) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private class CacheHandler implements InvocationHandler {
+
+    private final IgniteCache<?, ?> cache;
+    private final String label;
+    // Resolved once per method and query text, the hot path only does a map lookup
+    private final ConcurrentMap<Method, LatencyHistogram> methodHistograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> queryHistograms = new ConcurrentHashMap<>();
+
+    CacheHandler(IgniteCache<?, ?> cache, String label) {
+      this.cache = cache;
+      this.label = label;
+    }
+
+    private LatencyHistogram histogramOf(Method method, Object[] args) {
+      if ("query".equals(method.getName()) && args != null && args[0] instanceof Query) {
+        Query<?> query = (Query<?>) args[0];
+        String text = query instanceof SqlFieldsQuery
+            ? ((SqlFieldsQuery) query).getSql()
+            : query.getClass().getSimpleName();
+        return queryHistograms.computeIfAbsent(text, t -> histogram(label + " query: " + t));
+      }
+      return methodHistograms.computeIfAbsent(method, m -> histogram(label + " " + m.getName()));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      // Object methods (equals, hashCode, toString) are not cache operations
+      if (method.getDeclaringClass() == Object.class) {
+        return CacheInstrumentation.invoke(cache, method, args);
+      }
+      if (!isOperation(method)) {
+        Object result = CacheInstrumentation.invoke(cache, method, args);
+        if (result instanceof IgniteCache) {
+          // Typed and binary operations are reported apart, e.g. "City get" and "City binary get"
+          String withLabel = "withKeepBinary".equals(method.getName()) ? label + " binary" : label;
+          return instrument((IgniteCache<?, ?>) result, withLabel);
+        }
+        return result;
+      }
+
+      LatencyHistogram histogram = histogramOf(method, args);
+      long start = System.nanoTime();
+      Object result;
+      try {
+        result = CacheInstrumentation.invoke(cache, method, args);
+      } catch (Throwable e) {
+        histogram.record(System.nanoTime() - start);
+        throw e;
+      }
+
+      if (result instanceof IgniteFuture) {
+        ((IgniteFuture<?>) result).listen(future -> histogram.record(System.nanoTime() - start));
+        return result;
+      }
+      if (result instanceof QueryCursor) {
+        Class<?> cursorType = result instanceof FieldsQueryCursor ? FieldsQueryCursor.class : QueryCursor.class;
+        return Proxy.newProxyInstance(IgniteCache.class.getClassLoader(),
+            new Class<?>[] {cursorType}, new CursorHandler(result, histogram, start));
+      }
+      histogram.record(System.nanoTime() - start);
+      return result;
+    }
+  }
+
+  private static class CursorHandler implements InvocationHandler {
+
+    private final Object cursor;
+    private final LatencyHistogram histogram;
+    private final long start;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    CursorHandler(Object cursor, LatencyHistogram histogram, long start) {
+      this.cursor = cursor;
+      this.histogram = histogram;
+      this.start = start;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      try {
+        return CacheInstrumentation.invoke(cursor, method, args);
+      } finally {
+        // getAll() closes the cursor itself, without going through this proxy
+        if (("close".equals(method.getName()) || "getAll".equals(method.getName()))
+            && recorded.compareAndSet(false, true)) {
+          histogram.record(System.nanoTime() - start);
+        }
+      }
+    }
+  }
+
+}
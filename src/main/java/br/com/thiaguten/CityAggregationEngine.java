@@ -0,0 +1,95 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.compute.ComputeJobAdapter;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.compute.ComputeTaskAdapter;
+import org.apache.ignite.resources.IgniteInstanceResource;
+
+// Persons per city as a map-reduce over the server nodes. PersonPK is affinity-collocated by CITY_ID,
+// so all the persons of a city live in the same partition: each node counts the persons of its own
+// primary partitions, reading only the CITY_ID field of the binary keys, and sends back one small
+// city -> count map. The reduce step merges those maps on the caller.
+//
+// The local partitions are read on a stable topology: if nodes join or leave while the task runs, a
+// partition may move and be counted twice or not at all. Run it per partition with affinityCall (see
+// AffinityJoinEngine) when the result must hold during rebalancing.
+public class CityAggregationEngine {
+
+  private final Ignite ignite;
+
+  public CityAggregationEngine(Ignite ignite) {
+    this.ignite = ignite;
+  }
+
+  public Map<Long, Long> countPersonsByCity() {
+    return ignite.compute(ignite.cluster().forServers()).execute(new PersonsPerCityTask(), null);
+  }
+
+  private static class PersonsPerCityTask extends ComputeTaskAdapter<Void, Map<Long, Long>> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<LocalCount, ClusterNode> map(List<ClusterNode> subgrid, Void arg) {
+      Map<LocalCount, ClusterNode> jobs = new HashMap<>();
+      for (ClusterNode node : subgrid) {
+        jobs.put(new LocalCount(), node);
+      }
+      return jobs;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> reduce(List<ComputeJobResult> results) {
+      Map<Long, Long> counts = new HashMap<>();
+      for (ComputeJobResult result : results) {
+        if (result.getException() != null) {
+          throw result.getException();
+        }
+        ((Map<Long, Long>) result.getData()).forEach((city, count) -> counts.merge(city, count, Long::sum));
+      }
+      return counts;
+    }
+  }
+
+  private static class LocalCount extends ComputeJobAdapter {
+
+    private static final long serialVersionUID = 1L;
+
+    @IgniteInstanceResource
+    private transient Ignite ignite;
+
+    @Override
+    public Map<Long, Long> execute() throws IgniteException {
+      IgniteCache<BinaryObject, BinaryObject> cache = ignite.cache(PERSON_CACHE_NAME).withKeepBinary();
+      int[] partitions = ignite.affinity(PERSON_CACHE_NAME).primaryPartitions(ignite.cluster().localNode());
+
+      Map<Long, Long> counts = new HashMap<>();
+      for (int part : partitions) {
+        ScanQuery<BinaryObject, BinaryObject> query = new ScanQuery<>(part);
+        query.setLocal(true);
+        try (QueryCursor<Cache.Entry<BinaryObject, BinaryObject>> cursor = cache.query(query)) {
+          for (Cache.Entry<BinaryObject, BinaryObject> entry : cursor) {
+            Long cityId = entry.getKey().field("city_id");
+            counts.merge(cityId, 1L, Long::sum);
+          }
+        }
+      }
+      return counts;
+    }
+  }
+
+}
@@ -0,0 +1,222 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+// Seeded synthetic City/Person data: the same seed and settings always produce the same rows, in the
+// same order. The rows are generated one at a time while they are streamed, so millions of them never
+// sit in memory. Cities get ids 1..cities and persons 1..persons; each person lives in a city picked
+// uniformly or with Zipfian skew (city 1 the most populated, then city 2, ...), and names are random
+// letters with a uniform or Gaussian length between the min and max length.
+//
+// Every row is drawn from its own Random, seeded from the seed and the row id, so a workload can compute
+// the key or the value of any person it loaded (personKey(id), person(id)) without keeping them, from
+// any thread. Ids above persons give new persons with the same distribution.
+//
+// fromSystemProperties() is the dataset of the samples and load tests, sized and shaped with
+// -Ddataset.cities, -Ddataset.persons, -Ddataset.skew, -Ddataset.seed and -Ddataset.theta.
+public class DatasetGenerator {
+
+  public enum Skew {
+    UNIFORM,
+    ZIPFIAN
+  }
+
+  public enum NameLength {
+    // Every length in [min, max] equally likely
+    UNIFORM,
+    // Centered on (min + max) / 2, with min and max three standard deviations away, clamped to them
+    GAUSSIAN
+  }
+
+  private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+  private static final long DEFAULT_SEED = 42;
+  private static final long CITY_STREAM = 1;
+  private static final long PERSON_STREAM = 2;
+
+  private final long seed;
+
+  private long cities = 1_000;
+  private long persons = 1_000_000;
+  private Skew skew = Skew.UNIFORM;
+  private double theta = ZipfianDistribution.DEFAULT_THETA;
+  private NameLength nameLength = NameLength.UNIFORM;
+  private int minNameLength = 5;
+  private int maxNameLength = 20;
+  // Built on first use, its zeta constant costs O(cities)
+  private volatile ZipfianDistribution zipfian;
+
+  public DatasetGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  // The given size, uniform skew and seed 42 unless the dataset.* system properties say otherwise
+  public static DatasetGenerator fromSystemProperties(long cities, long persons) {
+    DatasetGenerator generator = new DatasetGenerator(Long.getLong("dataset.seed", DEFAULT_SEED))
+        .setCities(Long.getLong("dataset.cities", cities))
+        .setPersons(Long.getLong("dataset.persons", persons))
+        .setSkew(Skew.valueOf(System.getProperty("dataset.skew", Skew.UNIFORM.name()).toUpperCase()));
+    String theta = System.getProperty("dataset.theta");
+    return theta == null ? generator : generator.setTheta(Double.parseDouble(theta));
+  }
+
+  public DatasetGenerator setCities(long cities) {
+    this.cities = cities;
+    this.zipfian = null;
+    return this;
+  }
+
+  public DatasetGenerator setPersons(long persons) {
+    this.persons = persons;
+    return this;
+  }
+
+  public DatasetGenerator setSkew(Skew skew) {
+    this.skew = skew;
+    this.zipfian = null;
+    return this;
+  }
+
+  // Only used by the ZIPFIAN skew, in (0, 1): the closer to 1, the more persons in the first cities
+  public DatasetGenerator setTheta(double theta) {
+    this.theta = theta;
+    this.zipfian = null;
+    return this;
+  }
+
+  public DatasetGenerator setNameLength(NameLength nameLength, int minNameLength, int maxNameLength) {
+    if (minNameLength < 1 || maxNameLength < minNameLength) {
+      throw new IllegalArgumentException("Invalid name length range: " + minNameLength + ".." + maxNameLength);
+    }
+    this.nameLength = nameLength;
+    this.minNameLength = minNameLength;
+    this.maxNameLength = maxNameLength;
+    return this;
+  }
+
+  public long getCities() {
+    return cities;
+  }
+
+  public long getPersons() {
+    return persons;
+  }
+
+  public City city(long id) {
+    return new City(id, name(row(CITY_STREAM, id)));
+  }
+
+  public PersonPK personKey(long id) {
+    return new PersonPK(id, cityOf(row(PERSON_STREAM, id)));
+  }
+
+  public Person person(long id) {
+    Random random = row(PERSON_STREAM, id);
+    // The city is drawn first, the name comes after it
+    cityOf(random);
+    return new Person(name(random));
+  }
+
+  // A person in 1..persons, picked with the given Random (ThreadLocalRandom in the workloads)
+  public PersonPK randomPersonKey(Random random) {
+    return personKey((long) (random.nextDouble() * persons) + 1);
+  }
+
+  // A city in 1..cities, picked uniformly with the given Random
+  public long randomCityId(Random random) {
+    return (long) (random.nextDouble() * cities) + 1;
+  }
+
+  public Iterator<Map.Entry<Long, City>> cities() {
+    return rows(cities, i -> new SimpleImmutableEntry<>(i + 1, city(i + 1)));
+  }
+
+  public Iterator<Map.Entry<PersonPK, Person>> persons() {
+    return rows(persons, i -> {
+      Random random = row(PERSON_STREAM, i + 1);
+      long cityId = cityOf(random);
+      return new SimpleImmutableEntry<>(new PersonPK(i + 1, cityId), new Person(name(random)));
+    });
+  }
+
+  // Streams the cities then the persons into their caches
+  public IgniteBulkLoader.Result[] load(IgniteBulkLoader loader) {
+    return new IgniteBulkLoader.Result[] {
+        loader.load(CITY_CACHE_NAME, cities()),
+        loader.load(PERSON_CACHE_NAME, persons())
+    };
+  }
+
+  private long cityOf(Random random) {
+    if (skew == Skew.ZIPFIAN) {
+      ZipfianDistribution distribution = zipfian;
+      if (distribution == null) {
+        distribution = new ZipfianDistribution(cities, theta);
+        zipfian = distribution;
+      }
+      return distribution.sample(random) + 1;
+    }
+    return (long) (random.nextDouble() * cities) + 1;
+  }
+
+  // The Random of one row: the seed, the stream (cities or persons) and the id mixed with the SplitMix64
+  // finalizer, so neighbouring ids and seeds do not give correlated rows
+  private Random row(long stream, long id) {
+    return new Random(mix(mix(mix(seed) + stream) + id));
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private String name(Random random) {
+    int length;
+    if (nameLength == NameLength.GAUSSIAN) {
+      double mean = (minNameLength + maxNameLength) / 2.0;
+      double stddev = (maxNameLength - minNameLength) / 6.0;
+      length = (int) Math.round(mean + random.nextGaussian() * stddev);
+      length = Math.max(minNameLength, Math.min(maxNameLength, length));
+    } else {
+      length = minNameLength + random.nextInt(maxNameLength - minNameLength + 1);
+    }
+
+    char[] name = new char[length];
+    name[0] = Character.toUpperCase(LETTERS[random.nextInt(LETTERS.length)]);
+    for (int i = 1; i < length; i++) {
+      name[i] = LETTERS[random.nextInt(LETTERS.length)];
+    }
+    return new String(name);
+  }
+
+  private static <T> Iterator<T> rows(long count, LongFunction<T> row) {
+    return new Iterator<T>() {
+      private long next;
+
+      @Override
+      public boolean hasNext() {
+        return next < count;
+      }
+
+      @Override
+      public T next() {
+        if (next >= count) {
+          throw new NoSuchElementException();
+        }
+        return row.apply(next++);
+      }
+    };
+  }
+
+}
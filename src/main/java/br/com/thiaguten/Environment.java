@@ -8,24 +8,45 @@ import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.cache.configuration.Factory;
+import org.apache.ignite.DataRegionMetrics;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheEntry;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.QueryIndex;
+import org.apache.ignite.cache.QueryIndexType;
+import org.apache.ignite.cache.eviction.EvictionPolicy;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.configuration.WALMode;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
 import org.apache.ignite.spi.discovery.tcp.ipfinder.multicast.TcpDiscoveryMulticastIpFinder;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
 
 public class Environment {
 
@@ -38,6 +59,11 @@ public class Environment {
   public static final String PERSON_VALUE_TYPE = "br.com.thiaguten.model.Person";
   public static final String CITY_KEY_TYPE = "java.lang.Long";
   public static final String CITY_VALUE_TYPE = "br.com.thiaguten.model.City";
+  public static final int SQL_PAGE_SIZE = SqlFieldsQuery.DFLT_PAGE_SIZE;
+  public static final String JDBC_URL =
+      "jdbc:ignite:thin://"+CLIENT_CONNECTOR_HOST+":"+CLIENT_CONNECTOR_PORT+"/"+SCHEMA;
+  public static final String CITY_DATA_REGION = "City_Region";
+  public static final String PERSON_DATA_REGION = "Person_Region";
 
   // Create table based on REPLICATED template
   public static final String CREATE_CITY_TABLE_DDL = ""
@@ -57,20 +83,43 @@ public class Environment {
       " KEY_TYPE="+PERSON_KEY_TYPE+", " +
       " VALUE_TYPE="+PERSON_VALUE_TYPE+"\"";
 
+  // City is REPLICATED and Person is affinity-collocated by city_id, so this join never needs remote rows
+  public static final String PERSON_CITY_JOIN_SQL =
+      "SELECT p.name, c.name FROM Person p, City c WHERE p.city_id = c.id";
+
+  // Queries used by the samples, their plans are checked by QueryPlanChecker
+  public static final String SELECT_CITIES_SQL = "SELECT * FROM City ORDER BY id";
+  public static final String SELECT_PERSONS_SQL = "SELECT id, city_id, name FROM Person ORDER BY id";
+  public static final String SELECT_PERSONS_OF_CITY_SQL = "SELECT id, name FROM Person WHERE city_id = ?";
+  public static final String SELECT_CITY_KEYS_SQL = "select _key from City";
+  public static final String SELECT_PERSON_KEYS_SQL = "select _key from Person";
+  public static final String SELECT_PERSON_BY_KEY_SQL = "SELECT name FROM Person WHERE id = ? AND city_id = ?";
+  public static final String PERSON_CITY_JOIN_OF_CITY_SQL = PERSON_CITY_JOIN_SQL + " AND c.id = ?";
+  public static final String COUNT_PERSONS_OF_CITY_SQL = "SELECT COUNT(*) FROM Person WHERE city_id = ?";
+  public static final String COUNT_PERSONS_BY_CITY_SQL = "SELECT city_id, COUNT(*) FROM Person GROUP BY city_id";
+
   // Create an index on the City table
   public static final String CREATE_CITY_NAME_INDEX_DLL =
-      "CREATE INDEX idx_city_name ON City (name)";
+      "CREATE INDEX IF NOT EXISTS idx_city_name ON City (name)";
 
   // Create an index on the Person table
   public static final String CREATE_PERSON_NAME_INDEX_DLL =
-      "CREATE INDEX idx_person_name ON Person (name)";
+      "CREATE INDEX IF NOT EXISTS idx_person_name ON Person (name)";
+
+  // Optional index for the persons of a city sorted or filtered by name
+  public static final String CREATE_PERSON_CITY_NAME_INDEX_DDL =
+      "CREATE INDEX IF NOT EXISTS idx_person_city_name ON Person (city_id, name)";
 
   public static Ignite newIgnite() {
+    return newIgnite(newIgniteConfiguration());
+  }
+
+  public static IgniteConfiguration newIgniteConfiguration() {
     // Create custom ignite work directory path
     Path customWorkDir = Paths.get(".", "target", "ignite", "work").toAbsolutePath().normalize();
 
     // Create Ignite configuration
-    IgniteConfiguration igniteConfiguration = new IgniteConfiguration()
+    return new IgniteConfiguration()
         .setWorkDirectory(customWorkDir.toString())
         .setDiscoverySpi(new TcpDiscoverySpi()
             .setIpFinder(new TcpDiscoveryMulticastIpFinder()
@@ -79,7 +128,175 @@ public class Environment {
             .setHost(CLIENT_CONNECTOR_HOST)
             .setPort(CLIENT_CONNECTOR_PORT))
         .setSqlSchemas(SCHEMA);
-    return newIgnite(igniteConfiguration);
+  }
+
+  public static Ignite newFastStartIgnite() {
+    // Skips the HTTP call that checks for a newer Ignite version on every start
+    System.setProperty(IgniteSystemProperties.IGNITE_UPDATE_NOTIFIER, "false");
+    return newIgnite(newFastStartIgniteConfiguration());
+  }
+
+  // Startup-optimized profile for local runs, tests and autoscaled nodes: a static IP finder instead of
+  // multicast (no probing rounds before the first node decides it is alone), discovery bound to the
+  // addresses it lists, and shorter timeouts that still hold on a local network. Every node of the
+  // cluster must use the same discovery profile.
+  public static IgniteConfiguration newFastStartIgniteConfiguration() {
+    return newIgniteConfiguration()
+        .setLocalHost("127.0.0.1")
+        .setNetworkTimeout(2_000)
+        .setFailureDetectionTimeout(5_000)
+        .setMetricsLogFrequency(0)
+        .setDiscoverySpi(new TcpDiscoverySpi()
+            .setLocalPort(47500)
+            .setLocalPortRange(9)
+            .setNetworkTimeout(2_000)
+            .setIpFinder(new TcpDiscoveryVmIpFinder()
+                .setAddresses(Collections.singletonList("127.0.0.1:47500..47509"))));
+  }
+
+  // Distinct instance name and work directory, so several nodes can run in the same JVM or on the same host
+  public static IgniteConfiguration newIgniteConfiguration(String igniteInstanceName) {
+    Path nodeWorkDir = Paths.get(".", "target", "ignite", "work", igniteInstanceName).toAbsolutePath().normalize();
+
+    return newIgniteConfiguration()
+        .setIgniteInstanceName(igniteInstanceName)
+        .setWorkDirectory(nodeWorkDir.toString());
+  }
+
+  public static Ignite newPersistentIgnite(WALMode walMode) {
+    Ignite ignite = newIgnite(newPersistentIgniteConfiguration(walMode));
+
+    // A persistent cluster starts inactive, the first activation also sets the baseline topology
+    ignite.cluster().active(true);
+    return ignite;
+  }
+
+  public static IgniteConfiguration newPersistentIgniteConfiguration(WALMode walMode) {
+    Path storageDir = persistenceDirectory();
+
+    // FSYNC survives an OS crash, LOG_ONLY survives a process crash, BACKGROUND may lose the last writes
+    return newIgniteConfiguration()
+        .setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalMode(walMode)
+            .setStoragePath(storageDir.resolve("db").toString())
+            .setWalPath(storageDir.resolve("wal").toString())
+            .setWalArchivePath(storageDir.resolve("wal").resolve("archive").toString())
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)));
+  }
+
+  // City (replicated reference data) and Person (partitioned bulk data) each get their own off-heap
+  // region, so a growing Person dataset evicts Person pages instead of taking the node out of memory.
+  // Use setDataRegionName on the cache configuration or DATA_REGION in the DDL to place the tables.
+  public static IgniteConfiguration newDataRegionsIgniteConfiguration(
+      DataRegionConfiguration cityRegion, DataRegionConfiguration personRegion) {
+    return newIgniteConfiguration()
+        .setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDataRegionConfigurations(cityRegion, personRegion));
+  }
+
+  // Page eviction only applies to in-memory regions: once the region is full (90% by default), random
+  // pages are sampled and the least recently used one is evicted together with its entries.
+  public static DataRegionConfiguration evictingDataRegion(String name, long initialSize, long maxSize) {
+    return new DataRegionConfiguration()
+        .setName(name)
+        .setInitialSize(initialSize)
+        .setMaxSize(maxSize)
+        .setPageEvictionMode(DataPageEvictionMode.RANDOM_2_LRU)
+        .setMetricsEnabled(true);
+  }
+
+  public static void printDataRegionMetrics(Ignite ignite, String regionName) {
+    DataRegionMetrics metrics = ignite.dataRegionMetrics(regionName);
+    System.out.println("> [" + regionName + "] data region metrics:"
+        + " fill factor " + String.format("%.2f", metrics.getPagesFillFactor())
+        + ", allocated pages " + metrics.getTotalAllocatedPages()
+        + ", allocation rate " + String.format("%.1f", metrics.getAllocationRate()) + " pages/sec"
+        + ", eviction rate " + String.format("%.1f", metrics.getEvictionRate()) + " pages/sec");
+  }
+
+  // Appends parameters to the WITH clause of the CREATE TABLE statements above,
+  // e.g. withParameters(CREATE_PERSON_TABLE_DDL, "DATA_REGION=" + PERSON_DATA_REGION)
+  public static String withParameters(String createTableDdl, String... parameters) {
+    int end = createTableDdl.lastIndexOf('"');
+    return createTableDdl.substring(0, end) + ", " + String.join(", ", parameters) + "\"";
+  }
+
+  // Number of index segments (and of threads per node) used by each SQL query over Person. Fixed when
+  // the table is created; a CREATE TABLE can also take it from a template registered with
+  // Ignite.addCacheConfiguration (TEMPLATE=name) with setQueryParallelism set.
+  public static String createPersonTableDdl(int queryParallelism) {
+    return withParameters(CREATE_PERSON_TABLE_DDL, "PARALLELISM=" + queryParallelism);
+  }
+
+  // The inline size is how many bytes of the indexed values are stored in the B+tree pages themselves.
+  // A comparison that fits in it does not dereference the data page of the row: a VARCHAR takes 3 bytes
+  // plus its UTF-8 length, a LONG 9 bytes. Ignite's default is 10 bytes, QueryIndex.DFLT_INLINE_SIZE
+  // (-1) keeps it.
+  public static String withInlineSize(String createIndexDdl, int inlineSize) {
+    return inlineSize == QueryIndex.DFLT_INLINE_SIZE
+        ? createIndexDdl
+        : createIndexDdl + " INLINE_SIZE " + inlineSize;
+  }
+
+  // CacheConfiguration counterpart of withInlineSize, for every index of the cache (setIndexedTypes
+  // turns the @QuerySqlField annotations into QueryEntity indexes, so it applies to them too)
+  public static <K, V> CacheConfiguration<K, V> withIndexInlineSize(
+      CacheConfiguration<K, V> cacheConfig, int inlineSize) {
+    for (QueryEntity entity : cacheConfig.getQueryEntities()) {
+      for (QueryIndex index : entity.getIndexes()) {
+        index.setInlineSize(inlineSize);
+      }
+    }
+    return cacheConfig;
+  }
+
+  // CacheConfiguration counterpart of CREATE_PERSON_CITY_NAME_INDEX_DDL
+  public static <K, V> CacheConfiguration<K, V> withPersonCityNameIndex(
+      CacheConfiguration<K, V> cacheConfig, int inlineSize) {
+    LinkedHashMap<String, Boolean> fields = new LinkedHashMap<>();
+    fields.put("CITY_ID", true);
+    fields.put("NAME", true);
+
+    QueryEntity entity = cacheConfig.getQueryEntities().iterator().next();
+    List<QueryIndex> indexes = new ArrayList<>(entity.getIndexes());
+    indexes.add(new QueryIndex(fields, QueryIndexType.SORTED)
+        .setName("idx_person_city_name")
+        .setInlineSize(inlineSize));
+    entity.setIndexes(indexes);
+    return cacheConfig;
+  }
+
+  public static Path persistenceDirectory() {
+    return Paths.get(".", "target", "ignite", "persistence").toAbsolutePath().normalize();
+  }
+
+  public static Ignite newIgniteClient(String igniteInstanceName) {
+    return newIgnite(newIgniteConfiguration(igniteInstanceName)
+        .setClientMode(true));
+  }
+
+  // Thin client: one socket per address to the client connector of the server nodes instead of a node
+  // in the topology, so it never holds data, joins discovery or takes part in exchanges. With partition
+  // awareness a key-value operation goes straight to the primary node of its key, which needs the
+  // address of every server node. Without addresses, the client connector of the local node is used.
+  public static ClientConfiguration newThinClientConfiguration(String... addresses) {
+    return new ClientConfiguration()
+        .setAddresses(addresses.length > 0 ? addresses : new String[] {CLIENT_CONNECTOR_HOST + ":" + CLIENT_CONNECTOR_PORT})
+        .setPartitionAwarenessEnabled(true);
+  }
+
+  public static IgniteClient newThinClient(String... addresses) {
+    return Ignition.startClient(newThinClientConfiguration(addresses));
+  }
+
+  // JDBC URL for hot-path queries (see JdbcConnectionPool). With partitionAwareness the driver connects
+  // to every listed address and sends the queries by primary key to the node that owns the key. lazy
+  // streams the results page by page as sqlStreamingQuery does, and collocated is safe for our joins
+  // and GROUP BYs because Person is collocated with City by city_id.
+  public static String partitionAwareJdbcUrl(String... addresses) {
+    String hosts = addresses.length > 0 ? String.join(",", addresses) : CLIENT_CONNECTOR_HOST + ":" + CLIENT_CONNECTOR_PORT;
+    return "jdbc:ignite:thin://" + hosts + "/" + SCHEMA + "?partitionAwareness=true&lazy=true&collocated=true";
   }
 
   public static Ignite newIgnite(IgniteConfiguration igniteConfiguration) {
@@ -95,15 +312,33 @@ public class Environment {
     return ignite;
   }
 
+  // City is REPLICATED and read-mostly, so a near cache keeps the hot cities on the client node heap and
+  // serves get/getEntries without a network hop. Server nodes already hold every City locally, so this
+  // is meant for client nodes only. Use withKeepBinary() on the result for the BinaryObject form.
+  public static <V> IgniteCache<Long, V> cityNearCache(Ignite client, int maxSize) {
+    NearCacheConfiguration<Long, V> nearCacheConfig = new NearCacheConfiguration<Long, V>()
+        .setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(maxSize));
+    return client.getOrCreateNearCache(CITY_CACHE_NAME, nearCacheConfig);
+  }
+
+  // On-heap tier in front of the off-heap pages for skewed reads: up to the eviction policy max size, the
+  // hot entries stay on the Java heap (LruEvictionPolicyFactory or FifoEvictionPolicyFactory). With
+  // copyOnRead disabled the deserialized value is kept as well, so a hit skips deserialization too, but
+  // the returned objects are shared and must not be modified (e.g. no Person.setName before a put).
+  public static <K, V> CacheConfiguration<K, V> withOnheapCache(CacheConfiguration<K, V> cacheConfig,
+      Factory<? extends EvictionPolicy<? super K, ? super V>> evictionPolicyFactory) {
+    return cacheConfig
+        .setOnheapCacheEnabled(true)
+        .setEvictionPolicyFactory(evictionPolicyFactory)
+        .setCopyOnRead(false);
+  }
+
   public static void createJdbcTablesAndIndexes() throws Exception {
     // Register JDBC driver
     Class.forName("org.apache.ignite.IgniteJdbcThinDriver");
 
-    // Create JDBC URL
-    String url = "jdbc:ignite:thin://"+CLIENT_CONNECTOR_HOST+":"+CLIENT_CONNECTOR_PORT+"/"+SCHEMA;
-
     // Open JDBC connection and create JDBC Statement
-    try (Connection connection = DriverManager.getConnection(url);
+    try (Connection connection = DriverManager.getConnection(JDBC_URL);
         Statement stmt = connection.createStatement()) {
 
       // Create tables
@@ -117,25 +352,78 @@ public class Environment {
   }
 
   public static void sqlQueryingCityCache(IgniteCache<?, ?> cache) {
+    sqlQueryingCityCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlQueryingCityCache(IgniteCache<?, ?> cache, int pageSize) {
     System.out.println("> [City] SQL query result:");
-    SqlFieldsQuery select = new SqlFieldsQuery("SELECT * FROM City ORDER BY id");
-    try (FieldsQueryCursor<List<?>> cursor = cache.query(select)) {
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_CITIES_SQL);
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
+  }
+
+  public static void sqlQueryingPersonCache(IgniteCache<?, ?> cache) {
+    sqlQueryingPersonCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlQueryingPersonCache(IgniteCache<?, ?> cache, int pageSize) {
+    System.out.println("> [Person] SQL query result:");
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_PERSONS_SQL);
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
+  }
+
+  public static void sqlQueryingCityCache(ClientCache<?, ?> cache) {
+    sqlQueryingCityCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlQueryingCityCache(ClientCache<?, ?> cache, int pageSize) {
+    System.out.println("> [City] SQL query result (thin client):");
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_CITIES_SQL);
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
+  }
+
+  public static void sqlQueryingPersonCache(ClientCache<?, ?> cache) {
+    sqlQueryingPersonCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlQueryingPersonCache(ClientCache<?, ?> cache, int pageSize) {
+    System.out.println("> [Person] SQL query result (thin client):");
+    SqlFieldsQuery select = new SqlFieldsQuery(SELECT_PERSONS_SQL);
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
+  }
+
+  // Lazy execution makes the server produce the result page by page instead of materializing it, and
+  // iterating the cursor (instead of getAll) keeps at most one page of rows on the client at a time.
+  public static long sqlStreamingQuery(
+      IgniteCache<?, ?> cache, SqlFieldsQuery query, int pageSize, Consumer<List<?>> rowConsumer) {
+    query.setLazy(true);
+    query.setPageSize(pageSize);
+    long rows = 0;
+    try (FieldsQueryCursor<List<?>> cursor = cache.query(query)) {
       for (List<?> row : cursor) {
-        String rowValues = row.stream().map(Object::toString).collect(Collectors.joining(", "));
-        System.out.println("\t" + rowValues);
+        rowConsumer.accept(row);
+        rows++;
       }
     }
+    return rows;
   }
 
-  public static void sqlQueryingPersonCache(IgniteCache<?, ?> cache) {
-    System.out.println("> [Person] SQL query result:");
-    SqlFieldsQuery select = new SqlFieldsQuery("SELECT id, city_id, name FROM Person ORDER BY id");
-    try (FieldsQueryCursor<List<?>> cursor = cache.query(select)) {
+  public static long sqlStreamingQuery(
+      ClientCache<?, ?> cache, SqlFieldsQuery query, int pageSize, Consumer<List<?>> rowConsumer) {
+    query.setLazy(true);
+    query.setPageSize(pageSize);
+    long rows = 0;
+    try (FieldsQueryCursor<List<?>> cursor = cache.query(query)) {
       for (List<?> row : cursor) {
-        String rowValues = row.stream().map(Object::toString).collect(Collectors.joining(", "));
-        System.out.println("\t" + rowValues);
+        rowConsumer.accept(row);
+        rows++;
       }
     }
+    return rows;
+  }
+
+  public static void printRow(List<?> row) {
+    String rowValues = row.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    System.out.println("\t" + rowValues);
   }
 
   public static void keyValueQueryingCityCache(
@@ -263,20 +551,63 @@ public class Environment {
         .forEach(System.out::println);
   }
 
+  // The thin client has no getEntries, getAll returns the values by key
+  public static void keyValueQueryingCityCache(
+      Set<Long> keys, ClientCache<Long, City> cityCache) {
+    System.out.println("> [City] Key-Value query result (thin client):");
+
+    Map<Long, City> cities = cityCache.getAll(keys);
+    cities.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(Map.Entry::getValue)
+        .map(city -> "\t" + city.getId() + ", " + city.getName())
+        .forEach(System.out::println);
+  }
+
+  public static void keyValueQueryingPersonCache(
+      Set<PersonPK> keys, ClientCache<PersonPK, Person> personCache) {
+    System.out.println("> [Person] Key-Value query result (thin client):");
+
+    Map<PersonPK, Person> persons = personCache.getAll(keys);
+    persons.entrySet().stream()
+        .sorted(Comparator.comparing(entry -> entry.getKey().getId()))
+        .map(entry -> {
+          PersonPK key = entry.getKey();
+          Person value = entry.getValue();
+          return "\t" + key.getId() + ", " + key.getCityId() + ", " + value.getName();
+        })
+        .forEach(System.out::println);
+  }
+
   public static void sqlDistributedJoinQueryCache(IgniteCache<?, ?> cache) {
+    sqlDistributedJoinQueryCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlDistributedJoinQueryCache(IgniteCache<?, ?> cache, int pageSize) {
     String cacheName = cache.getName();
 
     // Querying data from the cluster using a distributed JOIN.
-    SqlFieldsQuery select = new SqlFieldsQuery(
-        "SELECT p.name, c.name FROM Person p, City c WHERE p.city_id = c.id");
+    SqlFieldsQuery select = new SqlFieldsQuery(PERSON_CITY_JOIN_SQL);
 
     System.out.println("> ["+cacheName+"] SQL query result using a distributed JOIN:");
-    try (FieldsQueryCursor<List<?>> cursor = cache.query(select)) {
-      for (List<?> row : cursor) {
-        String rowValues = row.stream().map(Object::toString).collect(Collectors.joining(", "));
-        System.out.println("\t" + rowValues);
-      }
-    }
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
+  }
+
+  public static void sqlColocatedJoinQueryCache(IgniteCache<?, ?> cache) {
+    sqlColocatedJoinQueryCache(cache, SQL_PAGE_SIZE);
+  }
+
+  public static void sqlColocatedJoinQueryCache(IgniteCache<?, ?> cache, int pageSize) {
+    String cacheName = cache.getName();
+
+    // Every Person row lives on the same node as its City (REPLICATED), so each node can join its own
+    // partitions and the reducer only merges the results.
+    SqlFieldsQuery select = new SqlFieldsQuery(PERSON_CITY_JOIN_SQL)
+        .setCollocated(true)
+        .setDistributedJoins(false);
+
+    System.out.println("> ["+cacheName+"] SQL query result using a collocated JOIN:");
+    sqlStreamingQuery(cache, select, pageSize, Environment::printRow);
   }
 
 }
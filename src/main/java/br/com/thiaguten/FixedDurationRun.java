@@ -0,0 +1,79 @@
+package br.com.thiaguten;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs an operation in a loop on N threads for a fixed time, recording every call in a LatencyHistogram,
+// and reports the throughput with the latency percentiles. The first operation failure stops every thread
+// at once (after its current call) and is thrown, wrapped in an ExecutionException.
+public class FixedDurationRun {
+
+  public interface Operation {
+    void run() throws Exception;
+  }
+
+  public static Result run(int threads, long seconds, Operation operation) throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(seconds);
+    AtomicBoolean stop = new AtomicBoolean();
+    // Threads are awaited in the order they finish, so a failure is seen as soon as it happens
+    CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+    try {
+      for (int t = 0; t < threads; t++) {
+        completion.submit(() -> {
+          long now = System.nanoTime();
+          while (now < end && !stop.get()) {
+            try {
+              operation.run();
+            } catch (Exception | Error e) {
+              stop.set(true);
+              throw e;
+            }
+            long completed = System.nanoTime();
+            histogram.record(completed - now);
+            now = completed;
+          }
+          return null;
+        });
+      }
+      for (int t = 0; t < threads; t++) {
+        completion.take().get();
+      }
+    } finally {
+      stop.set(true);
+      executor.shutdownNow();
+    }
+    return new Result(histogram.snapshot(), System.nanoTime() - start);
+  }
+
+  public static class Result {
+
+    private final LatencyHistogram.Snapshot latency;
+    private final long elapsedNanos;
+
+    Result(LatencyHistogram.Snapshot latency, long elapsedNanos) {
+      this.latency = latency;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+      return latency;
+    }
+
+    public double getOpsPerSecond() {
+      return latency.getCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.0f", getOpsPerSecond()) + " ops/sec, " + latency;
+    }
+  }
+
+}
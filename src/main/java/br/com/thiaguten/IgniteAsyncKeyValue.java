@@ -0,0 +1,103 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+
+// Throughput of Person get/put from a client node: the blocking API with N threads against the
+// AsyncKeyValueEngine with one thread and N operations in flight. Args: seconds per run and the
+// concurrency levels, e.g. "5 1,4,16,64,256".
+public class IgniteAsyncKeyValue {
+
+  public static void main(String[] args) throws Exception {
+    long seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+    String levels = args.length > 1 ? args[1] : "1,4,16,64,256";
+    DatasetGenerator dataset = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+    Ignite server = Environment.newIgnite();
+    IgniteModelCacheConfig.createCaches(server);
+
+    for (IgniteBulkLoader.Result result : dataset.load(new IgniteBulkLoader(server))) {
+      System.out.println(result);
+    }
+
+    // Every operation goes over the network, like in our request handlers
+    Ignite client = Environment.newIgniteClient("kv-client");
+    IgniteCache<PersonPK, Person> personCache = client.cache(PERSON_CACHE_NAME);
+
+    for (String level : levels.split(",")) {
+      int concurrency = Integer.parseInt(level.trim());
+      AsyncKeyValueEngine<PersonPK, Person> engine = new AsyncKeyValueEngine<>(personCache, concurrency);
+
+      double syncGets = opsPerSecond(concurrency, seconds, () -> personCache.get(randomPerson(dataset)));
+      double asyncGets = opsPerSecond(1, seconds, () -> engine.get(randomPerson(dataset)), engine::flush);
+      System.out.println("> [get] concurrency " + concurrency
+          + ": sync " + String.format("%.0f", syncGets) + " ops/sec (" + concurrency + " threads)"
+          + ", async " + String.format("%.0f", asyncGets) + " ops/sec (1 thread)");
+
+      double syncPuts = opsPerSecond(concurrency, seconds, () -> {
+        PersonPK key = randomPerson(dataset);
+        personCache.put(key, dataset.person(key.getId()));
+      });
+      double asyncPuts = opsPerSecond(1, seconds, () -> {
+        PersonPK key = randomPerson(dataset);
+        engine.put(key, dataset.person(key.getId()));
+      }, engine::flush);
+      System.out.println("> [put] concurrency " + concurrency
+          + ": sync " + String.format("%.0f", syncPuts) + " ops/sec (" + concurrency + " threads)"
+          + ", async " + String.format("%.0f", asyncPuts) + " ops/sec (1 thread)");
+    }
+
+    client.close();
+  }
+
+  private static PersonPK randomPerson(DatasetGenerator dataset) {
+    return dataset.randomPersonKey(ThreadLocalRandom.current());
+  }
+
+  private static double opsPerSecond(int threads, long seconds, Runnable operation) throws Exception {
+    return opsPerSecond(threads, seconds, operation, () -> { });
+  }
+
+  // Runs the operation in a loop on every thread, then waits for the completion step (flush) so
+  // pending asynchronous operations are counted in the elapsed time
+  private static double opsPerSecond(int threads, long seconds, Runnable operation, Runnable completion)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(seconds);
+    try {
+      List<Future<Long>> results = new ArrayList<>(threads);
+      for (int t = 0; t < threads; t++) {
+        results.add(executor.submit(() -> {
+          long ops = 0;
+          while (System.nanoTime() < end) {
+            operation.run();
+            ops++;
+          }
+          return ops;
+        }));
+      }
+
+      long ops = 0;
+      for (Future<Long> result : results) {
+        ops += result.get();
+      }
+      completion.run();
+      return ops / ((System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -33,21 +33,10 @@ public class IgniteBinaryCacheConfig {
     Ignite ignite = Environment.newIgnite();
     IgniteBinary binary = ignite.binary();
 
-    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
-    cityCacheConfig.setName(CITY_CACHE_NAME);
-    cityCacheConfig.setSqlSchema(SCHEMA);
-    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
-    cityCacheConfig.setIndexedTypes(Long.class, City.class);
-
-    CacheConfiguration<PersonPK, Person> personCacheConfig = new CacheConfiguration<>();
-    personCacheConfig.setName(PERSON_CACHE_NAME);
-    personCacheConfig.setSqlSchema(SCHEMA);
-    personCacheConfig.setBackups(1);
-    personCacheConfig.setCacheMode(CacheMode.PARTITIONED);
-    personCacheConfig.setIndexedTypes(PersonPK.class, Person.class);
+    createCaches(ignite);
 
-    IgniteCache<Long, BinaryObject> cityCache = ignite.getOrCreateCache(cityCacheConfig).withKeepBinary();
-    IgniteCache<BinaryObject, BinaryObject> personCache = ignite.getOrCreateCache(personCacheConfig).withKeepBinary();
+    IgniteCache<Long, BinaryObject> cityCache = ignite.cache(CITY_CACHE_NAME).withKeepBinary();
+    IgniteCache<BinaryObject, BinaryObject> personCache = ignite.cache(PERSON_CACHE_NAME).withKeepBinary();
 
     System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
@@ -141,4 +130,22 @@ public class IgniteBinaryCacheConfig {
     keyValueQueryingPersonCacheBinary(personKeys, personCache);
   }
 
+  public static void createCaches(Ignite ignite) {
+    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
+    cityCacheConfig.setName(CITY_CACHE_NAME);
+    cityCacheConfig.setSqlSchema(SCHEMA);
+    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
+    cityCacheConfig.setIndexedTypes(Long.class, City.class);
+
+    CacheConfiguration<PersonPK, Person> personCacheConfig = new CacheConfiguration<>();
+    personCacheConfig.setName(PERSON_CACHE_NAME);
+    personCacheConfig.setSqlSchema(SCHEMA);
+    personCacheConfig.setBackups(1);
+    personCacheConfig.setCacheMode(CacheMode.PARTITIONED);
+    personCacheConfig.setIndexedTypes(PersonPK.class, Person.class);
+
+    ignite.getOrCreateCache(cityCacheConfig);
+    ignite.getOrCreateCache(personCacheConfig);
+  }
+
 }
@@ -38,22 +38,11 @@ public class IgniteBinaryCacheDDL {
     Ignite ignite = Environment.newIgnite();
     IgniteBinary binary = ignite.binary();
 
-    // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
-    // will appear in future versions, JDBC and ODBC drivers do not require it already).
-    // https://apacheignite-sql.readme.io/docs/schema-and-indexes
-    CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>(DUMMY_CACHE_NAME).setSqlSchema("PUBLIC");
-    IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
-
-    dummyCache.query(new SqlFieldsQuery(CREATE_CITY_TABLE_DDL).setSchema(SCHEMA)).getAll();
-    dummyCache.query(new SqlFieldsQuery(CREATE_PERSON_TABLE_DDL).setSchema(SCHEMA)).getAll();
-    dummyCache.query(new SqlFieldsQuery(CREATE_CITY_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
-    dummyCache.query(new SqlFieldsQuery(CREATE_PERSON_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
+    createCaches(ignite);
 
     IgniteCache<Long, BinaryObject> cityCache = ignite.cache(CITY_CACHE_NAME).withKeepBinary();
     IgniteCache<BinaryObject, BinaryObject> personCache = ignite.cache(PERSON_CACHE_NAME).withKeepBinary();
 
-    dummyCache.destroy();
-
     System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
     // 1 - SQL API usage to interact with the cache
@@ -146,4 +135,19 @@ public class IgniteBinaryCacheDDL {
     keyValueQueryingPersonCacheBinary(personKeys, personCache);
   }
 
+  public static void createCaches(Ignite ignite) {
+    // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
+    // will appear in future versions, JDBC and ODBC drivers do not require it already).
+    // https://apacheignite-sql.readme.io/docs/schema-and-indexes
+    CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>(DUMMY_CACHE_NAME).setSqlSchema("PUBLIC");
+    IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
+
+    dummyCache.query(new SqlFieldsQuery(CREATE_CITY_TABLE_DDL).setSchema(SCHEMA)).getAll();
+    dummyCache.query(new SqlFieldsQuery(CREATE_PERSON_TABLE_DDL).setSchema(SCHEMA)).getAll();
+    dummyCache.query(new SqlFieldsQuery(CREATE_CITY_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
+    dummyCache.query(new SqlFieldsQuery(CREATE_PERSON_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
+
+    dummyCache.destroy();
+  }
+
 }
@@ -0,0 +1,81 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.CITY_VALUE_TYPE;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_KEY_TYPE;
+import static br.com.thiaguten.Environment.PERSON_VALUE_TYPE;
+
+import java.util.Arrays;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+public class IgniteBulkLoad {
+
+  public static void main(String[] args) {
+    DatasetGenerator generator = DatasetGenerator.fromSystemProperties(1_000, 1_000_000);
+    if (args.length > 0) {
+      generator.setCities(Long.parseLong(args[0]));
+    }
+    if (args.length > 1) {
+      generator.setPersons(Long.parseLong(args[1]));
+    }
+
+    Ignite ignite = Environment.newIgnite();
+    IgniteBinary binary = ignite.binary();
+
+    IgniteBulkLoader loader = new IgniteBulkLoader(ignite)
+        .setPerNodeBufferSize(1024)
+        .setAllowOverwrite(false);
+
+    // 1 - POJO form (City / PersonPK + Person) into the config-based caches
+    // ---------------------------------------------------------------------
+
+    IgniteModelCacheConfig.createCaches(ignite);
+
+    for (IgniteBulkLoader.Result result : generator.load(loader)) {
+      System.out.println(result);
+    }
+
+    printSizes(ignite);
+
+    ignite.destroyCaches(Arrays.asList(CITY_CACHE_NAME, PERSON_CACHE_NAME));
+
+    // 2 - BinaryObject form into the DDL-defined tables
+    // -------------------------------------------------
+
+    IgniteBinaryCacheDDL.createCaches(ignite);
+
+    loader.setKeepBinary(true);
+
+    // The same rows, built as BinaryObjects
+    System.out.println(loader.load(CITY_CACHE_NAME, generator.getCities(),
+        i -> i + 1,
+        i -> binary.builder(CITY_VALUE_TYPE)
+            .setField("id", i + 1)
+            .setField("name", generator.city(i + 1).getName())
+            .build()));
+
+    System.out.println(loader.load(PERSON_CACHE_NAME, generator.getPersons(),
+        i -> binary.builder(PERSON_KEY_TYPE)
+            .setField("id", i + 1)
+            .setField("city_id", generator.personKey(i + 1).getCityId())
+            .build(),
+        i -> binary.builder(PERSON_VALUE_TYPE)
+            .setField("name", generator.person(i + 1).getName())
+            .build()));
+
+    printSizes(ignite);
+  }
+
+  private static void printSizes(Ignite ignite) {
+    IgniteCache<?, ?> personCache = ignite.cache(PERSON_CACHE_NAME);
+    System.out.println("> [City] SQL count: "
+        + personCache.query(new SqlFieldsQuery("SELECT COUNT(*) FROM City")).getAll().get(0).get(0));
+    System.out.println("> [Person] SQL count: "
+        + personCache.query(new SqlFieldsQuery("SELECT COUNT(*) FROM Person")).getAll().get(0).get(0));
+  }
+
+}
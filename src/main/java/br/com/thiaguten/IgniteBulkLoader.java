@@ -0,0 +1,117 @@
+package br.com.thiaguten;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteDataStreamer;
+
+public class IgniteBulkLoader {
+
+  private final Ignite ignite;
+
+  private int perNodeBufferSize = IgniteDataStreamer.DFLT_PER_NODE_BUFFER_SIZE;
+  // Zero keeps the streamer default (CPU count of the remote node times DFLT_PARALLEL_OPS_MULTIPLIER)
+  private int perNodeParallelOperations;
+  private boolean allowOverwrite;
+  private boolean keepBinary;
+
+  public IgniteBulkLoader(Ignite ignite) {
+    this.ignite = ignite;
+  }
+
+  public IgniteBulkLoader setPerNodeBufferSize(int perNodeBufferSize) {
+    this.perNodeBufferSize = perNodeBufferSize;
+    return this;
+  }
+
+  public IgniteBulkLoader setPerNodeParallelOperations(int perNodeParallelOperations) {
+    this.perNodeParallelOperations = perNodeParallelOperations;
+    return this;
+  }
+
+  // When false (the default) the streamer skips existing keys and writes straight to the partitions,
+  // which is the fastest mode for seeding empty caches.
+  public IgniteBulkLoader setAllowOverwrite(boolean allowOverwrite) {
+    this.allowOverwrite = allowOverwrite;
+    return this;
+  }
+
+  // Must be true when the entries are BinaryObjects meant for a withKeepBinary() cache
+  public IgniteBulkLoader setKeepBinary(boolean keepBinary) {
+    this.keepBinary = keepBinary;
+    return this;
+  }
+
+  // Streams rows [0, rows) without materializing them, building each key and value on demand
+  public <K, V> Result load(String cacheName, long rows, LongFunction<K> key, LongFunction<V> value) {
+    long start = System.nanoTime();
+    try (IgniteDataStreamer<K, V> streamer = newStreamer(cacheName)) {
+      for (long i = 0; i < rows; i++) {
+        streamer.addData(key.apply(i), value.apply(i));
+      }
+    }
+    return new Result(cacheName, rows, System.nanoTime() - start);
+  }
+
+  public <K, V> Result load(String cacheName, Iterator<? extends Map.Entry<K, V>> entries) {
+    long start = System.nanoTime();
+    long rows = 0;
+    try (IgniteDataStreamer<K, V> streamer = newStreamer(cacheName)) {
+      while (entries.hasNext()) {
+        Map.Entry<K, V> entry = entries.next();
+        streamer.addData(entry.getKey(), entry.getValue());
+        rows++;
+      }
+    }
+    return new Result(cacheName, rows, System.nanoTime() - start);
+  }
+
+  private <K, V> IgniteDataStreamer<K, V> newStreamer(String cacheName) {
+    IgniteDataStreamer<K, V> streamer = ignite.dataStreamer(cacheName);
+    streamer.perNodeBufferSize(perNodeBufferSize);
+    if (perNodeParallelOperations > 0) {
+      streamer.perNodeParallelOperations(perNodeParallelOperations);
+    }
+    streamer.allowOverwrite(allowOverwrite);
+    streamer.keepBinary(keepBinary);
+    return streamer;
+  }
+
+  public static class Result {
+
+    private final String cacheName;
+    private final long rows;
+    private final long elapsedNanos;
+
+    Result(String cacheName, long rows, long elapsedNanos) {
+      this.cacheName = cacheName;
+      this.rows = rows;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getCacheName() {
+      return cacheName;
+    }
+
+    public long getRows() {
+      return rows;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public long getRowsPerSecond() {
+      return elapsedNanos == 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return "> [" + cacheName + "] loaded " + rows + " rows in " + getElapsedMillis() + " ms ("
+          + getRowsPerSecond() + " rows/sec)";
+    }
+  }
+
+}
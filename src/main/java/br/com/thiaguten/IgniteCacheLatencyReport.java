@@ -0,0 +1,66 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+// Runs a mixed get/getEntries/put/SQL workload through instrumented City and Person caches, typed and
+// withKeepBinary(), and prints the latency report every few seconds. Args: seconds to run.
+public class IgniteCacheLatencyReport {
+
+  public static void main(String[] args) {
+    long seconds = args.length > 0 ? Long.parseLong(args[0]) : 30;
+    DatasetGenerator dataset = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+    Ignite ignite = Environment.newIgnite();
+    IgniteModelCacheConfig.createCaches(ignite);
+
+    for (IgniteBulkLoader.Result result : dataset.load(new IgniteBulkLoader(ignite))) {
+      System.out.println(result);
+    }
+
+    try (CacheInstrumentation instrumentation = new CacheInstrumentation().startReporting(5, TimeUnit.SECONDS)) {
+      IgniteCache<Long, City> cityCache = instrumentation.instrument(ignite.cache(CITY_CACHE_NAME));
+      IgniteCache<PersonPK, Person> personCache = instrumentation.instrument(ignite.cache(PERSON_CACHE_NAME));
+      IgniteCache<Long, BinaryObject> binaryCityCache = cityCache.withKeepBinary();
+
+      SqlFieldsQuery personsOfCity = new SqlFieldsQuery(SELECT_PERSONS_OF_CITY_SQL);
+      SqlFieldsQuery joinOfCity = new SqlFieldsQuery(PERSON_CITY_JOIN_OF_CITY_SQL);
+
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+      while (System.nanoTime() < end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long cityId = dataset.randomCityId(random);
+
+        cityCache.get(cityId);
+        binaryCityCache.get(cityId);
+
+        Set<PersonPK> keys = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+          keys.add(dataset.randomPersonKey(random));
+        }
+        personCache.getEntries(keys);
+        PersonPK key = dataset.randomPersonKey(random);
+        personCache.put(key, dataset.person(key.getId()));
+
+        Environment.sqlStreamingQuery(personCache, personsOfCity.setArgs(cityId), SQL_PAGE_SIZE, row -> { });
+        personCache.query(joinOfCity.setArgs(cityId)).getAll();
+      }
+    }
+  }
+
+}
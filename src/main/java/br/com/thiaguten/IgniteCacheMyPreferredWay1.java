@@ -3,6 +3,10 @@ package br.com.thiaguten;
 import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
 import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
 import static br.com.thiaguten.Environment.SCHEMA;
+import static br.com.thiaguten.Environment.SELECT_CITY_KEYS_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSON_KEYS_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+import static br.com.thiaguten.Environment.sqlStreamingQuery;
 
 import br.com.thiaguten.model.Person;
 import br.com.thiaguten.model.PersonPK;
@@ -43,40 +47,11 @@ public class IgniteCacheMyPreferredWay1 {
         IgniteCache<BinaryObject, BinaryObject> cityCache = ignite.getOrCreateCache(cityCacheConfig).withKeepBinary();
         IgniteCache<BinaryObject, BinaryObject> personCache = ignite.getOrCreateCache(personCacheConfig).withKeepBinary();*/
 
-        // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
-        // will appear in future versions, JDBC and ODBC drivers do not require it already).
-        // https://apacheignite-sql.readme.io/docs/schema-and-indexes
-        CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>("temp").setSqlSchema("PUBLIC");
-        IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
-
-        dummyCache.query(new SqlFieldsQuery(
-                "CREATE TABLE IF NOT EXISTS City (id LONG PRIMARY KEY, name VARCHAR) " +
-                        " WITH \"TEMPLATE=replicated, " +
-                        " CACHE_NAME=" + CITY_CACHE_NAME + ", " +
-                        " KEY_TYPE=" + CITY_KEY_TYPE + ", " +
-                        " VALUE_TYPE=" + CITY_VALUE_TYPE + "\"")
-                .setSchema(SCHEMA))
-                .getAll();
-
-        dummyCache.query(new SqlFieldsQuery(
-                "CREATE TABLE IF NOT EXISTS Person (id LONG, name VARCHAR, city_id LONG, PRIMARY KEY (id, city_id)) " +
-                        " WITH \"TEMPLATE=partitioned, " +
-                        " BACKUPS=1, " +
-                        " AFFINITY_KEY=city_id, " +
-                        " CACHE_NAME=" + PERSON_CACHE_NAME + ", " +
-                        " KEY_TYPE=" + PERSON_KEY_TYPE + ", " +
-                        " VALUE_TYPE=" + PERSON_VALUE_TYPE + "\"")
-                .setSchema(SCHEMA))
-                .getAll();
-
-        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_city_name ON City (name)").setSchema(SCHEMA)).getAll();
-        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_person_name ON Person (name)").setSchema(SCHEMA)).getAll();
+        createCaches(ignite);
 
         IgniteCache<BinaryObject, BinaryObject> cityCache = ignite.cache(CITY_CACHE_NAME).withKeepBinary();
         IgniteCache<BinaryObject, BinaryObject> personCache = ignite.cache(PERSON_CACHE_NAME).withKeepBinary();
 
-        dummyCache.destroy();
-
         System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
         // 1 - SQL API usage to interact with the cache
@@ -95,8 +70,8 @@ public class IgniteCacheMyPreferredWay1 {
         personCache.query(insertPerson.setArgs(3L, 1L, "Mary Major")).getAll();
         personCache.query(insertPerson.setArgs(4L, 2L, "Richard Miles")).getAll();
 
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from City")).getAll());
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from Person")).getAll());
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_CITY_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_PERSON_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
 
         // 2 - Key-Value API usage to interact with the cache
         // --------------------------------------------------
@@ -149,7 +124,40 @@ public class IgniteCacheMyPreferredWay1 {
         System.out.println(cityCache.get(cKey3));
         System.out.println(personCache.get(pKey3));
 
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from City")).getAll());
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from Person")).getAll());
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_CITY_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_PERSON_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+    }
+
+    public static void createCaches(Ignite ignite) {
+        // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
+        // will appear in future versions, JDBC and ODBC drivers do not require it already).
+        // https://apacheignite-sql.readme.io/docs/schema-and-indexes
+        CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>("temp").setSqlSchema("PUBLIC");
+        IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
+
+        dummyCache.query(new SqlFieldsQuery(
+                "CREATE TABLE IF NOT EXISTS City (id LONG PRIMARY KEY, name VARCHAR) " +
+                        " WITH \"TEMPLATE=replicated, " +
+                        " CACHE_NAME=" + CITY_CACHE_NAME + ", " +
+                        " KEY_TYPE=" + CITY_KEY_TYPE + ", " +
+                        " VALUE_TYPE=" + CITY_VALUE_TYPE + "\"")
+                .setSchema(SCHEMA))
+                .getAll();
+
+        dummyCache.query(new SqlFieldsQuery(
+                "CREATE TABLE IF NOT EXISTS Person (id LONG, name VARCHAR, city_id LONG, PRIMARY KEY (id, city_id)) " +
+                        " WITH \"TEMPLATE=partitioned, " +
+                        " BACKUPS=1, " +
+                        " AFFINITY_KEY=city_id, " +
+                        " CACHE_NAME=" + PERSON_CACHE_NAME + ", " +
+                        " KEY_TYPE=" + PERSON_KEY_TYPE + ", " +
+                        " VALUE_TYPE=" + PERSON_VALUE_TYPE + "\"")
+                .setSchema(SCHEMA))
+                .getAll();
+
+        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_city_name ON City (name)").setSchema(SCHEMA)).getAll();
+        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_person_name ON Person (name)").setSchema(SCHEMA)).getAll();
+
+        dummyCache.destroy();
     }
 }
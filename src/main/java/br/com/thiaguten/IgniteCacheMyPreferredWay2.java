@@ -3,6 +3,10 @@ package br.com.thiaguten;
 import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
 import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
 import static br.com.thiaguten.Environment.SCHEMA;
+import static br.com.thiaguten.Environment.SELECT_CITY_KEYS_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSON_KEYS_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+import static br.com.thiaguten.Environment.sqlStreamingQuery;
 
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteBinary;
@@ -27,46 +31,7 @@ public class IgniteCacheMyPreferredWay2 {
         Ignite ignite = Environment.newIgnite();
         IgniteBinary binary = ignite.binary();
 
-        // Crete Cache configuration template(s) with custom schema
-        CacheConfiguration<?, ?> cacheCfgReplicated = new CacheConfiguration<>("templateCacheReplicado")
-                .setCacheMode(CacheMode.REPLICATED)
-                .setSqlSchema(SCHEMA);
-
-        CacheConfiguration<?, ?> cacheCfgPartitioned = new CacheConfiguration<>("templateCacheParticionado")
-                .setCacheMode(CacheMode.PARTITIONED)
-                .setSqlSchema(SCHEMA);
-
-        // Register the cache configuration template in the Ignite instance to make it available globally in the cluster
-        ignite.addCacheConfiguration(cacheCfgReplicated);
-        ignite.addCacheConfiguration(cacheCfgPartitioned);
-
-        // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
-        // will appear in future versions, JDBC and ODBC drivers do not require it already).
-        // https://apacheignite-sql.readme.io/docs/schema-and-indexes
-        CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>("DUMMY").setSqlSchema(SCHEMA);
-        IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
-
-        dummyCache.query(new SqlFieldsQuery(
-                "CREATE TABLE IF NOT EXISTS City (id LONG PRIMARY KEY, name VARCHAR) " +
-                        " WITH \"TEMPLATE=" + cacheCfgReplicated.getName() + ", " +
-                        " CACHE_NAME=" + CITY_CACHE_NAME + ", " +
-                        " KEY_TYPE=" + CITY_KEY_TYPE + ", " +
-                        " VALUE_TYPE=" + CITY_VALUE_TYPE + "\"")).getAll();
-
-        dummyCache.query(new SqlFieldsQuery(
-                "CREATE TABLE IF NOT EXISTS Person (id LONG, name VARCHAR, city_id LONG, PRIMARY KEY (id, city_id)) " +
-                        " WITH \"TEMPLATE=" + cacheCfgPartitioned.getName() + ", " +
-                        " BACKUPS=1, " +
-                        " AFFINITY_KEY=city_id, " +
-                        " CACHE_NAME=" + PERSON_CACHE_NAME + ", " +
-                        " KEY_TYPE=" + PERSON_KEY_TYPE + ", " +
-                        " VALUE_TYPE=" + PERSON_VALUE_TYPE + "\"")).getAll();
-
-        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_city_name ON City (name)")).getAll();
-        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_person_name ON Person (name)")).getAll();
-
-        // Destroy dummy cache because it's not necessary anymore
-        dummyCache.destroy();
+        createCaches(ignite);
 
         System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
@@ -89,8 +54,8 @@ public class IgniteCacheMyPreferredWay2 {
         personCache.query(insertPerson.setArgs(3L, 1L, "Mary Major")).getAll();
         personCache.query(insertPerson.setArgs(4L, 2L, "Richard Miles")).getAll();
 
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from City")).getAll());
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from Person")).getAll());
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_CITY_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_PERSON_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
 
         // 2 - Key-Value API usage to interact with the cache
         // --------------------------------------------------
@@ -145,8 +110,51 @@ public class IgniteCacheMyPreferredWay2 {
         System.out.println(cityCache.get(cKey3));
         System.out.println(personCache.get(pKey3));
 
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from City")).getAll());
-        System.out.println(cityCache.query(new SqlFieldsQuery("select _key from Person")).getAll());
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_CITY_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+        sqlStreamingQuery(cityCache, new SqlFieldsQuery(SELECT_PERSON_KEYS_SQL), SQL_PAGE_SIZE, Environment::printRow);
+    }
+
+    public static void createCaches(Ignite ignite) {
+        // Crete Cache configuration template(s) with custom schema
+        CacheConfiguration<?, ?> cacheCfgReplicated = new CacheConfiguration<>("templateCacheReplicado")
+                .setCacheMode(CacheMode.REPLICATED)
+                .setSqlSchema(SCHEMA);
+
+        CacheConfiguration<?, ?> cacheCfgPartitioned = new CacheConfiguration<>("templateCacheParticionado")
+                .setCacheMode(CacheMode.PARTITIONED)
+                .setSqlSchema(SCHEMA);
+
+        // Register the cache configuration template in the Ignite instance to make it available globally in the cluster
+        ignite.addCacheConfiguration(cacheCfgReplicated);
+        ignite.addCacheConfiguration(cacheCfgPartitioned);
+
+        // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
+        // will appear in future versions, JDBC and ODBC drivers do not require it already).
+        // https://apacheignite-sql.readme.io/docs/schema-and-indexes
+        CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>("DUMMY").setSqlSchema(SCHEMA);
+        IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
+
+        dummyCache.query(new SqlFieldsQuery(
+                "CREATE TABLE IF NOT EXISTS City (id LONG PRIMARY KEY, name VARCHAR) " +
+                        " WITH \"TEMPLATE=" + cacheCfgReplicated.getName() + ", " +
+                        " CACHE_NAME=" + CITY_CACHE_NAME + ", " +
+                        " KEY_TYPE=" + CITY_KEY_TYPE + ", " +
+                        " VALUE_TYPE=" + CITY_VALUE_TYPE + "\"")).getAll();
+
+        dummyCache.query(new SqlFieldsQuery(
+                "CREATE TABLE IF NOT EXISTS Person (id LONG, name VARCHAR, city_id LONG, PRIMARY KEY (id, city_id)) " +
+                        " WITH \"TEMPLATE=" + cacheCfgPartitioned.getName() + ", " +
+                        " BACKUPS=1, " +
+                        " AFFINITY_KEY=city_id, " +
+                        " CACHE_NAME=" + PERSON_CACHE_NAME + ", " +
+                        " KEY_TYPE=" + PERSON_KEY_TYPE + ", " +
+                        " VALUE_TYPE=" + PERSON_VALUE_TYPE + "\"")).getAll();
+
+        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_city_name ON City (name)")).getAll();
+        dummyCache.query(new SqlFieldsQuery("CREATE INDEX idx_person_name ON Person (name)")).getAll();
+
+        // Destroy dummy cache because it's not necessary anymore
+        dummyCache.destroy();
     }
 
 
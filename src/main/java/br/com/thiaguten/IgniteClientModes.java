@@ -0,0 +1,95 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CLIENT_CONNECTOR_HOST;
+import static br.com.thiaguten.Environment.CLIENT_CONNECTOR_PORT;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SELECT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.configuration.ClientConfiguration;
+
+// The same Person get/put/SQL workload from an embedded server node, a thick client node and thin
+// clients (ThinClientPool) with partition awareness and 1..N connections, plus one thin client without
+// partition awareness, on the same cluster. Args: server nodes, threads, seconds per workload and the
+// thin client connection counts, e.g. "2 16 5 1,4,16".
+public class IgniteClientModes {
+
+  private static final DatasetGenerator DATASET = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+  public static void main(String[] args) throws Exception {
+    int servers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    long seconds = args.length > 2 ? Long.parseLong(args[2]) : 5;
+    String connections = args.length > 3 ? args[3] : "1,4,16";
+
+    try (LocalCluster cluster = LocalCluster.start(servers, 1, false)) {
+      Ignite client = cluster.driver();
+      IgniteModelCacheConfig.createCaches(client);
+
+      DATASET.load(new IgniteBulkLoader(client));
+
+      runThick("embedded server", cluster.servers().get(0), threads, seconds);
+      runThick("thick client", client, threads, seconds);
+
+      // The server nodes start first and take the client connector ports in order: 3500, 3501, ...
+      String addresses = CLIENT_CONNECTOR_HOST + ":" + CLIENT_CONNECTOR_PORT + ".." + (CLIENT_CONNECTOR_PORT + servers - 1);
+      for (String count : connections.split(",")) {
+        ClientConfiguration clientConfig = Environment.newThinClientConfiguration(addresses);
+        try (ThinClientPool pool = new ThinClientPool(clientConfig, Integer.parseInt(count.trim()))) {
+          runThin("thin client, " + pool.size() + " connections", pool, threads, seconds);
+        }
+      }
+      ClientConfiguration clientConfig = Environment.newThinClientConfiguration(addresses)
+          .setPartitionAwarenessEnabled(false);
+      try (ThinClientPool pool = new ThinClientPool(clientConfig, 1)) {
+        runThin("thin client, 1 connection, no partition awareness", pool, threads, seconds);
+      }
+    }
+  }
+
+  private static void runThick(String mode, Ignite ignite, int threads, long seconds) throws Exception {
+    IgniteCache<PersonPK, Person> personCache = ignite.cache(PERSON_CACHE_NAME);
+    String prefix = "> [" + mode + "] ";
+    System.out.println(prefix + "get: " + FixedDurationRun.run(threads, seconds,
+        () -> personCache.get(randomPerson())));
+    System.out.println(prefix + "put: " + FixedDurationRun.run(threads, seconds, () -> {
+      PersonPK key = randomPerson();
+      personCache.put(key, DATASET.person(key.getId()));
+    }));
+    System.out.println(prefix + "SQL persons of a city: " + FixedDurationRun.run(threads, seconds,
+        () -> Environment.sqlStreamingQuery(personCache,
+            new SqlFieldsQuery(SELECT_PERSONS_OF_CITY_SQL).setArgs(randomCity()), SQL_PAGE_SIZE, row -> { })));
+  }
+
+  private static void runThin(String mode, ThinClientPool pool, int threads, long seconds) throws Exception {
+    String prefix = "> [" + mode + "] ";
+    System.out.println(prefix + "get: " + FixedDurationRun.run(threads, seconds, () -> {
+      ClientCache<PersonPK, Person> personCache = pool.cache(PERSON_CACHE_NAME);
+      personCache.get(randomPerson());
+    }));
+    System.out.println(prefix + "put: " + FixedDurationRun.run(threads, seconds, () -> {
+      ClientCache<PersonPK, Person> personCache = pool.cache(PERSON_CACHE_NAME);
+      PersonPK key = randomPerson();
+      personCache.put(key, DATASET.person(key.getId()));
+    }));
+    System.out.println(prefix + "SQL persons of a city: " + FixedDurationRun.run(threads, seconds,
+        () -> Environment.sqlStreamingQuery(pool.cache(PERSON_CACHE_NAME),
+            new SqlFieldsQuery(SELECT_PERSONS_OF_CITY_SQL).setArgs(randomCity()), SQL_PAGE_SIZE, row -> { })));
+  }
+
+  private static long randomCity() {
+    return DATASET.randomCityId(ThreadLocalRandom.current());
+  }
+
+  private static PersonPK randomPerson() {
+    return DATASET.randomPersonKey(ThreadLocalRandom.current());
+  }
+
+}
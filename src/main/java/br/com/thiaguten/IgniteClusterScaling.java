@@ -0,0 +1,72 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+// Runs the Person/City workloads from a client node against 1..N server nodes and reports throughput
+// and latency for every cluster size. Args: max server nodes, "forked" to run every server in its own
+// JVM, client threads and seconds per workload.
+public class IgniteClusterScaling {
+
+  private static final DatasetGenerator DATASET = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+  public static void main(String[] args) throws Exception {
+    int maxServers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+    boolean forked = args.length > 1 && "forked".equals(args[1]);
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+    long seconds = args.length > 3 ? Long.parseLong(args[3]) : 5;
+
+    for (int servers = 1; servers <= maxServers; servers++) {
+      try (LocalCluster cluster = LocalCluster.start(servers, 1, forked)) {
+        Ignite client = cluster.driver();
+        IgniteModelCacheConfig.createCaches(client);
+
+        // Cities then persons
+        IgniteBulkLoader.Result load = DATASET.load(new IgniteBulkLoader(client))[1];
+
+        String prefix = "> [" + servers + (forked ? " forked" : "") + " server nodes] ";
+        System.out.println(prefix + "load: " + load.getRowsPerSecond() + " rows/sec");
+
+        IgniteCache<PersonPK, Person> personCache = client.cache(PERSON_CACHE_NAME);
+        SqlFieldsQuery personsOfCity = new SqlFieldsQuery(SELECT_PERSONS_OF_CITY_SQL);
+        SqlFieldsQuery joinOfCity = new SqlFieldsQuery(PERSON_CITY_JOIN_OF_CITY_SQL);
+
+        System.out.println(prefix + "get: " + FixedDurationRun.run(threads, seconds,
+            () -> personCache.get(randomPerson())));
+        System.out.println(prefix + "put: " + FixedDurationRun.run(threads, seconds, () -> {
+          PersonPK key = randomPerson();
+          personCache.put(key, DATASET.person(key.getId()));
+        }));
+        System.out.println(prefix + "SQL persons of a city: " + FixedDurationRun.run(threads, seconds,
+            () -> Environment.sqlStreamingQuery(personCache, copy(personsOfCity).setArgs(randomCity()),
+                SQL_PAGE_SIZE, row -> { })));
+        System.out.println(prefix + "SQL join of a city: " + FixedDurationRun.run(threads, seconds,
+            () -> Environment.sqlStreamingQuery(personCache, copy(joinOfCity).setArgs(randomCity()),
+                SQL_PAGE_SIZE, row -> { })));
+      }
+    }
+  }
+
+  private static long randomCity() {
+    return DATASET.randomCityId(ThreadLocalRandom.current());
+  }
+
+  private static PersonPK randomPerson() {
+    return DATASET.randomPersonKey(ThreadLocalRandom.current());
+  }
+
+  // SqlFieldsQuery is mutable (args), every thread needs its own
+  private static SqlFieldsQuery copy(SqlFieldsQuery query) {
+    return new SqlFieldsQuery(query);
+  }
+
+}
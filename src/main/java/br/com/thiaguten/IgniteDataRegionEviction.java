@@ -0,0 +1,71 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.CITY_DATA_REGION;
+import static br.com.thiaguten.Environment.CREATE_PERSON_TABLE_DDL;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_DATA_REGION;
+import static br.com.thiaguten.Environment.SCHEMA;
+
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+
+// Overfills the Person data region and reports the load throughput and the region metrics while the
+// region evicts. Args: cache definition ("config" or "ddl"), Person region max size in MB, rows per
+// round and rounds.
+public class IgniteDataRegionEviction {
+
+  private static final long MB = 1024L * 1024L;
+
+  public static void main(String[] args) {
+    boolean ddl = args.length > 0 && "ddl".equals(args[0]);
+    long personRegionMaxSize = (args.length > 1 ? Long.parseLong(args[1]) : 64) * MB;
+    long rowsPerRound = args.length > 2 ? Long.parseLong(args[2]) : 200_000;
+    int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+    DatasetGenerator dataset = DatasetGenerator.fromSystemProperties(1_000, rounds * rowsPerRound);
+
+    // The allocation and eviction rates are averaged over the default rate interval (one minute), the
+    // allocated page count is exact
+    DataRegionConfiguration cityRegion = Environment.evictingDataRegion(CITY_DATA_REGION, 16 * MB, 32 * MB);
+    DataRegionConfiguration personRegion = Environment
+        .evictingDataRegion(PERSON_DATA_REGION, personRegionMaxSize / 2, personRegionMaxSize);
+    Ignite ignite = Environment.newIgnite(Environment.newDataRegionsIgniteConfiguration(cityRegion, personRegion));
+
+    IgniteCache<Long, City> cityCache = ignite.getOrCreateCache(
+        IgniteModelCacheConfig.cityCacheConfiguration().setDataRegionName(CITY_DATA_REGION));
+    if (ddl) {
+      String createPersonTable = Environment.withParameters(CREATE_PERSON_TABLE_DDL, "DATA_REGION=" + PERSON_DATA_REGION);
+      cityCache.query(new SqlFieldsQuery(createPersonTable).setSchema(SCHEMA)).getAll();
+    } else {
+      ignite.getOrCreateCache(
+          IgniteModelCacheConfig.personCacheConfiguration().setDataRegionName(PERSON_DATA_REGION));
+    }
+    IgniteCache<PersonPK, Person> personCache = ignite.cache(PERSON_CACHE_NAME);
+
+    IgniteBulkLoader loader = new IgniteBulkLoader(ignite);
+    System.out.println(loader.load(CITY_CACHE_NAME, dataset.cities()));
+
+    for (int round = 0; round < rounds; round++) {
+      long offset = round * rowsPerRound;
+      IgniteBulkLoader.Result result = loader.load(PERSON_CACHE_NAME, rowsPerRound,
+          i -> dataset.personKey(offset + i + 1),
+          i -> dataset.person(offset + i + 1));
+
+      System.out.println(result);
+      System.out.println("> Round " + (round + 1) + ": Person entries "
+          + personCache.size(CachePeekMode.PRIMARY) + " of " + (offset + rowsPerRound) + " loaded");
+      Environment.printDataRegionMetrics(ignite, PERSON_DATA_REGION);
+    }
+
+    // City lives in its own region, so the Person evictions never touch it
+    System.out.println("> City entries: " + cityCache.size(CachePeekMode.PRIMARY) + " of " + dataset.getCities());
+    Environment.printDataRegionMetrics(ignite, CITY_DATA_REGION);
+  }
+
+}
@@ -0,0 +1,55 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.DatasetGenerator.NameLength;
+import br.com.thiaguten.DatasetGenerator.Skew;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+// Streams a generated dataset into the City/Person caches and prints what it looks like: the most
+// populated cities and the person name lengths. Args: cities, persons, skew ("uniform" or "zipfian"),
+// name length ("uniform" or "gaussian"), seed.
+public class IgniteDatasetGenerator {
+
+  public static void main(String[] args) {
+    long cities = args.length > 0 ? Long.parseLong(args[0]) : 1_000;
+    long persons = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+    Skew skew = args.length > 2 ? Skew.valueOf(args[2].toUpperCase()) : Skew.ZIPFIAN;
+    NameLength nameLength = args.length > 3 ? NameLength.valueOf(args[3].toUpperCase()) : NameLength.GAUSSIAN;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+    Ignite ignite = Environment.newIgnite();
+    SchemaBootstrapper.bootstrap(ignite);
+
+    DatasetGenerator generator = new DatasetGenerator(seed)
+        .setCities(cities)
+        .setPersons(persons)
+        .setSkew(skew)
+        .setNameLength(nameLength, 3, 30);
+
+    IgniteBulkLoader loader = new IgniteBulkLoader(ignite).setPerNodeBufferSize(1024);
+    for (IgniteBulkLoader.Result result : generator.load(loader)) {
+      System.out.println(result);
+    }
+
+    System.out.println("> [Person] most populated cities (" + skew + "):");
+    Environment.sqlStreamingQuery(ignite.cache(PERSON_CACHE_NAME), new SqlFieldsQuery(
+            "SELECT city_id, COUNT(*) c FROM Person GROUP BY city_id ORDER BY c DESC LIMIT 5").setCollocated(true),
+        SQL_PAGE_SIZE, Environment::printRow);
+
+    System.out.println("> [Person] name length min, avg, max (" + nameLength + "):");
+    Environment.sqlStreamingQuery(ignite.cache(PERSON_CACHE_NAME), new SqlFieldsQuery(
+            "SELECT MIN(LENGTH(name)), AVG(CAST(LENGTH(name) AS DOUBLE)), MAX(LENGTH(name)) FROM Person"),
+        SQL_PAGE_SIZE, Environment::printRow);
+
+    System.out.println("> [Person] first persons:");
+    Environment.sqlStreamingQuery(ignite.cache(PERSON_CACHE_NAME), new SqlFieldsQuery(
+            "SELECT id, city_id, name FROM Person WHERE id <= 3 ORDER BY id"),
+        SQL_PAGE_SIZE, Environment::printRow);
+
+    ignite.close();
+  }
+
+}
@@ -0,0 +1,57 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.createJdbcTablesAndIndexes;
+
+import br.com.thiaguten.JdbcBulkLoader.Mode;
+import br.com.thiaguten.model.PersonPK;
+import org.apache.ignite.Ignite;
+
+public class IgniteJdbcIngest {
+
+  private static final String INSERT_CITY = "INSERT INTO City (_key, id, name) VALUES (?, ?, ?)";
+  private static final String INSERT_PERSON = "INSERT INTO Person (id, city_id, name) VALUES (?, ?, ?)";
+
+  public static void main(String[] args) throws Exception {
+    DatasetGenerator dataset = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+    if (args.length > 0) {
+      dataset.setCities(Long.parseLong(args[0]));
+    }
+    if (args.length > 1) {
+      dataset.setPersons(Long.parseLong(args[1]));
+    }
+    int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+
+    Ignite ignite = Environment.newIgnite();
+
+    // Create tables and indexes with JDBC Statement
+    createJdbcTablesAndIndexes();
+
+    // Same tables, same rows, one run per ingest mode
+    for (Mode mode : Mode.values()) {
+      ignite.cache(PERSON_CACHE_NAME).clear();
+      ignite.cache(CITY_CACHE_NAME).clear();
+
+      JdbcBulkLoader loader = new JdbcBulkLoader()
+          .setMode(mode)
+          .setBatchSize(batchSize);
+
+      System.out.println(loader.load(CITY_CACHE_NAME, INSERT_CITY, dataset.getCities(), (stmt, i) -> {
+        stmt.setLong(1, i + 1);
+        stmt.setLong(2, i + 1);
+        stmt.setString(3, dataset.city(i + 1).getName());
+      }));
+
+      System.out.println(loader.load(PERSON_CACHE_NAME, INSERT_PERSON, dataset.getPersons(), (stmt, i) -> {
+        PersonPK key = dataset.personKey(i + 1);
+        stmt.setLong(1, key.getId());
+        stmt.setLong(2, key.getCityId());
+        stmt.setString(3, dataset.person(i + 1).getName());
+      }));
+
+      System.out.println("> [Person] total size: " + ignite.cache(PERSON_CACHE_NAME).size());
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CLIENT_CONNECTOR_HOST;
+import static br.com.thiaguten.Environment.CLIENT_CONNECTOR_PORT;
+import static br.com.thiaguten.Environment.JDBC_URL;
+import static br.com.thiaguten.Environment.SELECT_PERSON_BY_KEY_SQL;
+
+import br.com.thiaguten.model.PersonPK;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.Ignite;
+
+// Point selects on Person by (id, city_id) over JDBC thin from N threads, on tables created by CREATE
+// TABLE so that they are _key_PK lookups: a new connection per query (as
+// Environment.createJdbcTablesAndIndexes does), one shared connection with a new PreparedStatement per
+// query, one shared partition aware connection with a single cached PreparedStatement, and
+// JdbcConnectionPool with partition awareness and cached statements at each pool size.
+// Args: server nodes, threads, seconds per run and the pool sizes, e.g. "2 16 5 1,4,16".
+public class IgniteJdbcPointSelect {
+
+  private static final DatasetGenerator DATASET = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+  public static void main(String[] args) throws Exception {
+    int servers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    long seconds = args.length > 2 ? Long.parseLong(args[2]) : 5;
+    String sizes = args.length > 3 ? args[3] : "1,4,16";
+
+    try (LocalCluster cluster = LocalCluster.start(servers, 1, false)) {
+      Ignite client = cluster.driver();
+      // CREATE TABLE builds the primary key index, a QueryEntity configured cache would go through
+      // AFFINITY_KEY (see the personByKey plans of QueryPlanChecker)
+      IgniteModelCacheDDL.createCaches(client);
+
+      DATASET.load(new IgniteBulkLoader(client));
+
+      System.out.println("> [connection per query] " + FixedDurationRun.run(threads, seconds, () -> {
+        try (Connection connection = DriverManager.getConnection(JDBC_URL)) {
+          requireFound(selectName(connection));
+        }
+      }));
+
+      // A thin connection is not thread-safe, the threads take turns on it
+      try (Connection connection = DriverManager.getConnection(JDBC_URL)) {
+        System.out.println("> [single connection] " + FixedDurationRun.run(threads, seconds, () -> {
+          synchronized (connection) {
+            requireFound(selectName(connection));
+          }
+        }));
+      }
+
+      // The server nodes start first and take the client connector ports in order: 3500, 3501, ...
+      String[] addresses = new String[servers];
+      for (int i = 0; i < servers; i++) {
+        addresses[i] = CLIENT_CONNECTOR_HOST + ":" + (CLIENT_CONNECTOR_PORT + i);
+      }
+      String url = Environment.partitionAwareJdbcUrl(addresses);
+
+      // Same URL and statement reuse as the pool, so only the number of connections differs
+      try (Connection connection = DriverManager.getConnection(url);
+          PreparedStatement stmt = connection.prepareStatement(SELECT_PERSON_BY_KEY_SQL)) {
+        System.out.println("> [single connection, partition aware, cached statement] "
+            + FixedDurationRun.run(threads, seconds, () -> {
+              synchronized (connection) {
+                requireFound(selectName(stmt));
+              }
+            }));
+      }
+
+      for (String size : sizes.split(",")) {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(url, Integer.parseInt(size.trim()))) {
+          System.out.println("> [pool of " + pool.size() + "] " + FixedDurationRun.run(threads, seconds, () -> {
+            PersonPK key = DATASET.randomPersonKey(ThreadLocalRandom.current());
+            requireFound(pool.query(SELECT_PERSON_BY_KEY_SQL,
+                stmt -> {
+                  stmt.setLong(1, key.getId());
+                  stmt.setLong(2, key.getCityId());
+                },
+                rs -> rs.next() ? rs.getString(1) : null));
+          }));
+        }
+      }
+    }
+  }
+
+  private static String selectName(Connection connection) throws SQLException {
+    try (PreparedStatement stmt = connection.prepareStatement(SELECT_PERSON_BY_KEY_SQL)) {
+      return selectName(stmt);
+    }
+  }
+
+  private static String selectName(PreparedStatement stmt) throws SQLException {
+    PersonPK key = DATASET.randomPersonKey(ThreadLocalRandom.current());
+    stmt.setLong(1, key.getId());
+    stmt.setLong(2, key.getCityId());
+    try (ResultSet rs = stmt.executeQuery()) {
+      return rs.next() ? rs.getString(1) : null;
+    }
+  }
+
+  // Every query must find its person, a miss would make the run look faster than it is
+  private static void requireFound(String name) {
+    if (name == null) {
+      throw new IllegalStateException("Point select returned no person");
+    }
+  }
+
+}
@@ -27,21 +27,10 @@ public class IgniteModelCacheConfig {
   public static void main(String[] args) {
     Ignite ignite = Environment.newIgnite();
 
-    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
-    cityCacheConfig.setName(CITY_CACHE_NAME);
-    cityCacheConfig.setSqlSchema(SCHEMA);
-    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
-    cityCacheConfig.setIndexedTypes(Long.class, City.class);
+    createCaches(ignite);
 
-    CacheConfiguration<PersonPK, Person> personCacheConfig = new CacheConfiguration<>();
-    personCacheConfig.setName(PERSON_CACHE_NAME);
-    personCacheConfig.setSqlSchema(SCHEMA);
-    personCacheConfig.setBackups(1);
-    personCacheConfig.setCacheMode(CacheMode.PARTITIONED);
-    personCacheConfig.setIndexedTypes(PersonPK.class, Person.class);
-
-    IgniteCache<Long, City> cityCache = ignite.getOrCreateCache(cityCacheConfig);
-    IgniteCache<PersonPK, Person> personCache = ignite.getOrCreateCache(personCacheConfig);
+    IgniteCache<Long, City> cityCache = ignite.cache(CITY_CACHE_NAME);
+    IgniteCache<PersonPK, Person> personCache = ignite.cache(PERSON_CACHE_NAME);
 
     System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
@@ -95,6 +84,41 @@ public class IgniteModelCacheConfig {
     keyValueQueryingPersonCache(personKeys, personCache);
   }
 
+  public static void createCaches(Ignite ignite) {
+    createCaches(ignite, CacheConfiguration.DFLT_QUERY_PARALLELISM);
+  }
+
+  public static void createCaches(Ignite ignite, int personQueryParallelism) {
+    ignite.getOrCreateCache(cityCacheConfiguration());
+    ignite.getOrCreateCache(personCacheConfiguration(personQueryParallelism));
+  }
+
+  public static CacheConfiguration<Long, City> cityCacheConfiguration() {
+    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
+    cityCacheConfig.setName(CITY_CACHE_NAME);
+    cityCacheConfig.setSqlSchema(SCHEMA);
+    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
+    cityCacheConfig.setIndexedTypes(Long.class, City.class);
+    return cityCacheConfig;
+  }
+
+  public static CacheConfiguration<PersonPK, Person> personCacheConfiguration() {
+    return personCacheConfiguration(CacheConfiguration.DFLT_QUERY_PARALLELISM);
+  }
+
+  // Query parallelism splits the Person indexes in segments scanned by that many threads per node,
+  // usually up to the number of cores
+  public static CacheConfiguration<PersonPK, Person> personCacheConfiguration(int queryParallelism) {
+    CacheConfiguration<PersonPK, Person> personCacheConfig = new CacheConfiguration<>();
+    personCacheConfig.setName(PERSON_CACHE_NAME);
+    personCacheConfig.setSqlSchema(SCHEMA);
+    personCacheConfig.setBackups(1);
+    personCacheConfig.setCacheMode(CacheMode.PARTITIONED);
+    personCacheConfig.setIndexedTypes(PersonPK.class, Person.class);
+    personCacheConfig.setQueryParallelism(queryParallelism);
+    return personCacheConfig;
+  }
+
 //  private static void sqlQueryingCityCache(IgniteCache<?, ?> cache) {
 //    System.out.println("> [City] SQL query result:");
 //    SqlFieldsQuery select = new SqlFieldsQuery("SELECT * FROM City ORDER BY id");
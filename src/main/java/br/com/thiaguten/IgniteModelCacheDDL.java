@@ -2,9 +2,9 @@ package br.com.thiaguten;
 
 import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
 import static br.com.thiaguten.Environment.CREATE_PERSON_NAME_INDEX_DLL;
-import static br.com.thiaguten.Environment.CREATE_PERSON_TABLE_DDL;
 import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
 import static br.com.thiaguten.Environment.SCHEMA;
+import static br.com.thiaguten.Environment.createPersonTableDdl;
 import static br.com.thiaguten.Environment.keyValueQueryingCityCache;
 import static br.com.thiaguten.Environment.keyValueQueryingPersonCache;
 import static br.com.thiaguten.Environment.sqlDistributedJoinQueryCache;
@@ -29,25 +29,10 @@ public class IgniteModelCacheDDL {
   public static void main(String[] args) {
     Ignite ignite = Environment.newIgnite();
 
-    // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
-    // will appear in future versions, JDBC and ODBC drivers do not require it already).
-//    CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>(DUMMY_CACHE_NAME).setSqlSchema("PUBLIC");
-//    IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
-
-    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
-    cityCacheConfig.setName(CITY_CACHE_NAME);
-    cityCacheConfig.setSqlSchema(SCHEMA);
-    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
-    cityCacheConfig.setIndexedTypes(Long.class, City.class);
-
-    IgniteCache<Long, City> cityCache = ignite.getOrCreateCache(cityCacheConfig);
-
-    // Creating a new cache (Person) from another cache previously created (City), using the Ignite SQL API.
-    // https://apacheignite-sql.readme.io/docs/schema-and-indexes
-    cityCache.query(new SqlFieldsQuery(CREATE_PERSON_TABLE_DDL).setSchema(SCHEMA)).getAll();
+    createCaches(ignite);
 
+    IgniteCache<Long, City> cityCache = ignite.cache(CITY_CACHE_NAME);
     IgniteCache<PersonPK, Person> personCache = ignite.cache(PERSON_CACHE_NAME);
-    personCache.query(new SqlFieldsQuery(CREATE_PERSON_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
 
     System.out.println("> Ignite cache names: " + ignite.cacheNames());
 
@@ -101,4 +86,30 @@ public class IgniteModelCacheDDL {
     keyValueQueryingPersonCache(personKeys, personCache);
   }
 
+  public static void createCaches(Ignite ignite) {
+    createCaches(ignite, CacheConfiguration.DFLT_QUERY_PARALLELISM);
+  }
+
+  public static void createCaches(Ignite ignite, int personQueryParallelism) {
+    // Create dummy cache to act as an entry point for SQL queries (new SQL API which do not require this
+    // will appear in future versions, JDBC and ODBC drivers do not require it already).
+//    CacheConfiguration<?, ?> cacheCfg = new CacheConfiguration<>(DUMMY_CACHE_NAME).setSqlSchema("PUBLIC");
+//    IgniteCache<?, ?> dummyCache = ignite.getOrCreateCache(cacheCfg);
+
+    CacheConfiguration<Long, City> cityCacheConfig = new CacheConfiguration<>();
+    cityCacheConfig.setName(CITY_CACHE_NAME);
+    cityCacheConfig.setSqlSchema(SCHEMA);
+    cityCacheConfig.setCacheMode(CacheMode.REPLICATED);
+    cityCacheConfig.setIndexedTypes(Long.class, City.class);
+
+    IgniteCache<Long, City> cityCache = ignite.getOrCreateCache(cityCacheConfig);
+
+    // Creating a new cache (Person) from another cache previously created (City), using the Ignite SQL API.
+    // https://apacheignite-sql.readme.io/docs/schema-and-indexes
+    cityCache.query(new SqlFieldsQuery(createPersonTableDdl(personQueryParallelism)).setSchema(SCHEMA)).getAll();
+
+    IgniteCache<PersonPK, Person> personCache = ignite.cache(PERSON_CACHE_NAME);
+    personCache.query(new SqlFieldsQuery(CREATE_PERSON_NAME_INDEX_DLL).setSchema(SCHEMA)).getAll();
+  }
+
 }
@@ -0,0 +1,74 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.WALMode;
+
+public class IgnitePersistenceRecovery {
+
+  public static void main(String[] args) throws IOException {
+    WALMode walMode = args.length > 0 ? WALMode.valueOf(args[0]) : WALMode.LOG_ONLY;
+    DatasetGenerator dataset = DatasetGenerator.fromSystemProperties(1_000, 1_000_000);
+    if (args.length > 1) {
+      dataset.setCities(Long.parseLong(args[1]));
+    }
+    if (args.length > 2) {
+      dataset.setPersons(Long.parseLong(args[2]));
+    }
+
+    deleteDirectory(Environment.persistenceDirectory());
+
+    // 1 - Load from source into an empty persistent node (what a restart costs without persistence)
+    // --------------------------------------------------------------------------------------------
+
+    long start = System.nanoTime();
+    Ignite ignite = Environment.newPersistentIgnite(walMode);
+    IgniteModelCacheConfig.createCaches(ignite);
+
+    for (IgniteBulkLoader.Result result : dataset.load(new IgniteBulkLoader(ignite))) {
+      System.out.println(result);
+    }
+    System.out.println("> [" + walMode + "] start + load from source: " + millisSince(start) + " ms");
+
+    // Stopping the node runs a checkpoint, like a graceful shutdown in production
+    ignite.close();
+
+    // 2 - Restart and recover from disk
+    // ---------------------------------
+
+    start = System.nanoTime();
+    ignite = Environment.newPersistentIgnite(walMode);
+    System.out.println("> [" + walMode + "] node start + activation: " + millisSince(start) + " ms");
+
+    IgniteCache<?, ?> personCache = ignite.cache(PERSON_CACHE_NAME);
+    Object cityCount = personCache.query(new SqlFieldsQuery("SELECT COUNT(*) FROM City")).getAll().get(0).get(0);
+    Object personCount = personCache.query(new SqlFieldsQuery("SELECT COUNT(*) FROM Person")).getAll().get(0).get(0);
+    System.out.println("> [" + walMode + "] City/Person queryable again after: " + millisSince(start) + " ms"
+        + " (City: " + cityCount + ", Person: " + personCount + ")");
+  }
+
+  private static long millisSince(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private static void deleteDirectory(Path dir) throws IOException {
+    if (Files.exists(dir)) {
+      try (Stream<Path> paths = Files.walk(dir)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+}
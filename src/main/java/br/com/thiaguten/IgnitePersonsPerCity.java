@@ -0,0 +1,79 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.COUNT_PERSONS_BY_CITY_SQL;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+
+// Persons per city with SQL GROUP BY (default and collocated) and with the CityAggregationEngine
+// map-reduce, from a client node. Reports the average time and the bytes the client node sent and
+// received per run. Args: server nodes, cities, persons and runs.
+public class IgnitePersonsPerCity {
+
+  public static void main(String[] args) throws Exception {
+    int servers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    DatasetGenerator generator = DatasetGenerator.fromSystemProperties(1_000, 500_000);
+    if (args.length > 1) {
+      generator.setCities(Long.parseLong(args[1]));
+    }
+    if (args.length > 2) {
+      generator.setPersons(Long.parseLong(args[2]));
+    }
+    int runs = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    try (LocalCluster cluster = LocalCluster.start(servers, 1, false)) {
+      Ignite client = cluster.driver();
+      IgniteModelCacheConfig.createCaches(client);
+
+      for (IgniteBulkLoader.Result result : generator.load(new IgniteBulkLoader(client))) {
+        System.out.println(result);
+      }
+
+      CityAggregationEngine engine = new CityAggregationEngine(client);
+      Map<Long, Long> expected = sqlCounts(client, false);
+
+      measure("SQL GROUP BY", client, runs, expected, () -> sqlCounts(client, false));
+      // Grouping by the affinity key: every node can group its own rows, the reducer only concatenates
+      measure("SQL GROUP BY collocated", client, runs, expected, () -> sqlCounts(client, true));
+      measure("map-reduce", client, runs, expected, engine::countPersonsByCity);
+    }
+  }
+
+  private static Map<Long, Long> sqlCounts(Ignite ignite, boolean collocated) {
+    Map<Long, Long> counts = new HashMap<>();
+    SqlFieldsQuery query = new SqlFieldsQuery(COUNT_PERSONS_BY_CITY_SQL).setCollocated(collocated);
+    Environment.sqlStreamingQuery(ignite.cache(PERSON_CACHE_NAME), query, SQL_PAGE_SIZE,
+        row -> counts.put((Long) row.get(0), (Long) row.get(1)));
+    return counts;
+  }
+
+  private static void measure(String name, Ignite client, int runs, Map<Long, Long> expected,
+      Supplier<Map<Long, Long>> aggregation) {
+    // Warm up, and check that every path computes the same counts
+    if (!expected.equals(aggregation.get())) {
+      throw new IllegalStateException(name + " returned different counts per city");
+    }
+
+    TcpCommunicationSpi communication = (TcpCommunicationSpi) client.configuration().getCommunicationSpi();
+    long sent = communication.getSentBytesCount();
+    long received = communication.getReceivedBytesCount();
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      aggregation.get();
+    }
+    long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / runs;
+
+    System.out.println("> [" + name + "] " + expected.size() + " cities"
+        + ", " + String.format("%.1f", elapsedMicros / 1000.0) + " ms per run"
+        + ", client sent " + (communication.getSentBytesCount() - sent) / runs + " bytes"
+        + " and received " + (communication.getReceivedBytesCount() - received) / runs + " bytes per run");
+  }
+
+}
@@ -0,0 +1,115 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.COUNT_PERSONS_BY_CITY_SQL;
+import static br.com.thiaguten.Environment.COUNT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+import static br.com.thiaguten.Environment.SQL_PAGE_SIZE;
+
+import br.com.thiaguten.model.City;
+import br.com.thiaguten.model.Person;
+import br.com.thiaguten.model.PersonPK;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+// Update lag of the PersonsPerCityView under write load: writer threads on a client node put and remove
+// persons while the view, on the same client node, applies the continuous query events. The lag is the
+// time from just before the put to the view reflecting it, so it includes the put itself. At the end the
+// view is compared with SQL GROUP BY, and a view read with the SQL count of one city.
+// Args: server nodes, writer threads and seconds.
+public class IgnitePersonsPerCityView {
+
+  private static final DatasetGenerator DATASET = DatasetGenerator.fromSystemProperties(1_000, 100_000);
+
+  public static void main(String[] args) throws Exception {
+    int servers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+    try (LocalCluster cluster = LocalCluster.start(servers, 1, false)) {
+      Ignite client = cluster.driver();
+      IgniteModelCacheConfig.createCaches(client);
+
+      DATASET.load(new IgniteBulkLoader(client));
+
+      long start = System.nanoTime();
+      LatencyHistogram lag = new LatencyHistogram();
+      try (PersonsPerCityView view = new PersonsPerCityView(client)) {
+        System.out.println("> Snapshot of " + view.cityCount() + " cities loaded in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+
+        // The writers put the nanoTime before the put in the name, the view listener sees it come back
+        view.setUpdateListener((id, name) -> {
+          if (name != null && name.startsWith("@")) {
+            lag.record(System.nanoTime() - Long.parseLong(name.substring(1)));
+          }
+        });
+
+        IgniteCache<PersonPK, Person> personCache = client.cache(PERSON_CACHE_NAME);
+        AtomicLong writes = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+          futures.add(pool.submit(() -> {
+            while (System.nanoTime() < end) {
+              // One in ten writes removes a person, the ids above the loaded ones add new persons
+              long persons = DATASET.getPersons();
+              PersonPK key = DATASET.personKey(ThreadLocalRandom.current().nextLong(persons + persons / 10) + 1);
+              if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                personCache.remove(key);
+              } else {
+                personCache.put(key, new Person("@" + System.nanoTime()));
+              }
+              writes.incrementAndGet();
+            }
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+        pool.shutdown();
+
+        System.out.println("> " + writers + " writers: " + writes.get() / seconds + " writes/sec");
+        System.out.println("> View update lag: " + lag.snapshot());
+
+        // The last events may still be on their way
+        Map<Long, Long> expected = sqlCounts(client);
+        for (int attempt = 0; attempt < 50 && !expected.equals(view.personCountsByCity()); attempt++) {
+          Thread.sleep(100);
+        }
+        System.out.println("> View matches SQL GROUP BY: " + expected.equals(view.personCountsByCity()));
+
+        long cityId = 1;
+        SqlFieldsQuery countOfCity = new SqlFieldsQuery(COUNT_PERSONS_OF_CITY_SQL);
+        long sqlStart = System.nanoTime();
+        long sqlCount = (Long) personCache.query(countOfCity.setArgs(cityId)).getAll().get(0).get(0);
+        long sqlMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sqlStart);
+        long viewStart = System.nanoTime();
+        int viewCount = view.personCount(cityId);
+        long viewNanos = System.nanoTime() - viewStart;
+        System.out.println("> City " + cityId + ": SQL count " + sqlCount + " in " + sqlMicros + " us"
+            + ", view count " + viewCount + " in " + viewNanos + " ns");
+      }
+    }
+  }
+
+  private static Map<Long, Long> sqlCounts(Ignite ignite) {
+    Map<Long, Long> counts = new HashMap<>();
+    SqlFieldsQuery query = new SqlFieldsQuery(COUNT_PERSONS_BY_CITY_SQL).setCollocated(true);
+    Environment.sqlStreamingQuery(ignite.cache(PERSON_CACHE_NAME), query, SQL_PAGE_SIZE,
+        row -> counts.put((Long) row.get(0), (Long) row.get(1)));
+    return counts;
+  }
+
+}
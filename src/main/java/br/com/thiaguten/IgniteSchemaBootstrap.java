@@ -0,0 +1,53 @@
+package br.com.thiaguten;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+
+// Time and partition map exchanges to create the City/Person schema: the DDL through a dummy entry point
+// cache (IgniteBinaryCacheDDL, IgniteCacheMyPreferredWay1/2), the DDL from the City cache
+// (IgniteModelCacheDDL) and SchemaBootstrapper, the same DDL over JDBC thin. The schema is dropped between
+// runs, every way runs the given number of rounds in turn and the averages are printed. Args: rounds.
+public class IgniteSchemaBootstrap {
+
+  public static void main(String[] args) {
+    int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+
+    Map<String, Consumer<Ignite>> ways = new LinkedHashMap<>();
+    ways.put("dummy cache + DDL", IgniteBinaryCacheDDL::createCaches);
+    ways.put("dummy cache + DDL, MyPreferredWay1", IgniteCacheMyPreferredWay1::createCaches);
+    ways.put("dummy cache + DDL, MyPreferredWay2", IgniteCacheMyPreferredWay2::createCaches);
+    ways.put("City cache + DDL", IgniteModelCacheDDL::createCaches);
+    ways.put("JDBC DDL, SchemaBootstrapper", SchemaBootstrapper::bootstrap);
+
+    Map<String, long[]> totals = new LinkedHashMap<>();
+    try (Ignite ignite = Environment.newFastStartIgnite()) {
+      for (int round = 0; round < rounds; round++) {
+        ways.forEach((way, createCaches) -> {
+          AffinityTopologyVersion before = SchemaBootstrapper.topologyVersion(ignite);
+          long start = System.nanoTime();
+          createCaches.accept(ignite);
+          long elapsed = System.nanoTime() - start;
+          AffinityTopologyVersion after = SchemaBootstrapper.topologyVersion(ignite);
+          long exchanges = SchemaBootstrapper.exchanges(before, after);
+          if (exchanges < 0) {
+            throw new IllegalStateException("Topology changed from " + before + " to " + after
+                + " during " + way + ", the exchanges cannot be counted");
+          }
+          long[] total = totals.computeIfAbsent(way, k -> new long[2]);
+          total[0] += elapsed;
+          total[1] += exchanges;
+
+          ignite.destroyCaches(ignite.cacheNames());
+        });
+      }
+    }
+
+    totals.forEach((way, total) -> System.out.println("> [" + way + "] "
+        + TimeUnit.NANOSECONDS.toMillis(total[0] / rounds) + " ms, " + total[1] / rounds + " exchanges"));
+  }
+
+}
@@ -0,0 +1,60 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CREATE_CITY_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_CITY_TABLE_DDL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_TABLE_DDL;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_SQL;
+import static br.com.thiaguten.Environment.SCHEMA;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+// Breaks the time to the first query of a fresh node down into JVM start, node start (discovery join),
+// cache start, schema/index creation and first query. Run it once per profile, each in a new JVM
+// and with no other node running: "multicast" (Environment.newIgnite) or "static"
+// (Environment.newFastStartIgnite).
+public class IgniteStartupTime {
+
+  public static void main(String[] args) {
+    String profile = args.length > 0 ? args[0] : "static";
+    long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+    String prefix = "> [" + profile + "] ";
+    System.out.println(prefix + "JVM start to main: " + (System.currentTimeMillis() - jvmStart) + " ms");
+
+    long start = System.nanoTime();
+    Ignite ignite = "multicast".equals(profile) ? Environment.newIgnite() : Environment.newFastStartIgnite();
+    System.out.println(prefix + "node start (discovery join): " + millisSince(start) + " ms");
+
+    // A plain cache, the entry point for the DDL below
+    start = System.nanoTime();
+    IgniteCache<?, ?> entryCache = ignite.getOrCreateCache(
+        new CacheConfiguration<>("Startup_Entry").setSqlSchema(SCHEMA));
+    System.out.println(prefix + "cache start: " + millisSince(start) + " ms");
+
+    // Each CREATE TABLE starts a cache with its query entity, each CREATE INDEX builds an index
+    start = System.nanoTime();
+    for (String ddl : new String[] {CREATE_CITY_TABLE_DDL, CREATE_PERSON_TABLE_DDL,
+        CREATE_CITY_NAME_INDEX_DLL, CREATE_PERSON_NAME_INDEX_DLL}) {
+      entryCache.query(new SqlFieldsQuery(ddl).setSchema(SCHEMA)).getAll();
+    }
+    System.out.println(prefix + "schema/index creation: " + millisSince(start) + " ms");
+
+    // Includes parsing and planning the query for the first time
+    start = System.nanoTime();
+    entryCache.query(new SqlFieldsQuery(PERSON_CITY_JOIN_SQL).setSchema(SCHEMA)).getAll();
+    System.out.println(prefix + "first query: " + millisSince(start) + " ms");
+
+    System.out.println(prefix + "time to first query: " + (System.currentTimeMillis() - jvmStart) + " ms since JVM start");
+    ignite.close();
+  }
+
+  private static long millisSince(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+}
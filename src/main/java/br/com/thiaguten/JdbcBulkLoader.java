@@ -0,0 +1,125 @@
+package br.com.thiaguten;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class JdbcBulkLoader {
+
+  public enum Mode {
+    // One executeUpdate (one server round trip) per row
+    PLAIN,
+    // addBatch/executeBatch, one round trip per batch
+    BATCH,
+    // SET STREAMING ON, the thin driver feeds the rows into a data streamer on the server side
+    STREAMING
+  }
+
+  @FunctionalInterface
+  public interface RowBinder {
+    void bind(PreparedStatement stmt, long row) throws SQLException;
+  }
+
+  private final String url;
+
+  private Mode mode = Mode.STREAMING;
+  private int batchSize = 1024;
+  private boolean allowOverwrite;
+
+  public JdbcBulkLoader() {
+    this(Environment.JDBC_URL);
+  }
+
+  public JdbcBulkLoader(String url) {
+    this.url = url;
+  }
+
+  public JdbcBulkLoader setMode(Mode mode) {
+    this.mode = mode;
+    return this;
+  }
+
+  public JdbcBulkLoader setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  // Only used by the STREAMING mode, the other modes fail on duplicate keys as a regular INSERT does
+  public JdbcBulkLoader setAllowOverwrite(boolean allowOverwrite) {
+    this.allowOverwrite = allowOverwrite;
+    return this;
+  }
+
+  public IgniteBulkLoader.Result load(String table, String insertSql, long rows, RowBinder binder)
+      throws SQLException {
+    long start = System.nanoTime();
+    try (Connection connection = DriverManager.getConnection(url)) {
+      switch (mode) {
+        case PLAIN:
+          loadPlain(connection, insertSql, rows, binder);
+          break;
+        case BATCH:
+          loadBatch(connection, insertSql, rows, binder);
+          break;
+        case STREAMING:
+          loadStreaming(connection, insertSql, rows, binder);
+          break;
+        default:
+          throw new IllegalStateException("Unknown mode: " + mode);
+      }
+    }
+    return new IgniteBulkLoader.Result(table + " (" + mode + ")", rows, System.nanoTime() - start);
+  }
+
+  private void loadPlain(Connection connection, String insertSql, long rows, RowBinder binder)
+      throws SQLException {
+    try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
+      for (long i = 0; i < rows; i++) {
+        binder.bind(stmt, i);
+        stmt.executeUpdate();
+      }
+    }
+  }
+
+  private void loadBatch(Connection connection, String insertSql, long rows, RowBinder binder)
+      throws SQLException {
+    try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
+      for (long i = 0; i < rows; i++) {
+        binder.bind(stmt, i);
+        stmt.addBatch();
+        if ((i + 1) % batchSize == 0) {
+          stmt.executeBatch();
+        }
+      }
+      if (rows % batchSize != 0) {
+        stmt.executeBatch();
+      }
+    }
+  }
+
+  private void loadStreaming(Connection connection, String insertSql, long rows, RowBinder binder)
+      throws SQLException {
+    try (Statement stmt = connection.createStatement()) {
+      stmt.execute("SET STREAMING ON"
+          + " BATCH_SIZE " + batchSize
+          + " ALLOW_OVERWRITE " + (allowOverwrite ? "ON" : "OFF"));
+    }
+    try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
+      // In streaming mode each row is only buffered on the client side and sent BATCH_SIZE rows at a time
+      for (long i = 0; i < rows; i++) {
+        binder.bind(stmt, i);
+        stmt.executeUpdate();
+      }
+    }
+    // Flushes the remaining buffered rows and waits for them to be written
+    try (Statement stmt = connection.createStatement()) {
+      stmt.execute("SET STREAMING OFF");
+    }
+  }
+
+}
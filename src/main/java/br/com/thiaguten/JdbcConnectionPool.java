@@ -0,0 +1,159 @@
+package br.com.thiaguten;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// A fixed set of JDBC thin connections for hot-path queries: a query borrows a connection, runs on the
+// PreparedStatement that connection keeps for the SQL (parsed once per connection instead of once per
+// call) and gives the connection back. A thin connection is not thread-safe, a borrowed one belongs to
+// a single thread until it is returned; when all are in use the next query waits for one.
+//
+// Use it with Environment.partitionAwareJdbcUrl so that every connection reaches all the server nodes
+// and the point selects by primary key go straight to the node that owns the key.
+public class JdbcConnectionPool implements AutoCloseable {
+
+  @FunctionalInterface
+  public interface StatementBinder {
+    void bind(PreparedStatement stmt) throws SQLException;
+  }
+
+  @FunctionalInterface
+  public interface ResultSetMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+  }
+
+  private final String url;
+  private final BlockingQueue<PooledConnection> idle;
+  private final List<PooledConnection> all = new ArrayList<>();
+
+  public JdbcConnectionPool(String url, int size) throws SQLException {
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be positive: " + size);
+    }
+    this.url = url;
+    this.idle = new ArrayBlockingQueue<>(size);
+    try {
+      for (int i = 0; i < size; i++) {
+        PooledConnection connection = new PooledConnection(DriverManager.getConnection(url));
+        all.add(connection);
+        idle.add(connection);
+      }
+    } catch (SQLException e) {
+      close();
+      throw e;
+    }
+  }
+
+  public <T> T query(String sql, StatementBinder binder, ResultSetMapper<T> mapper) throws SQLException {
+    PooledConnection connection = borrow();
+    try {
+      PreparedStatement stmt = connection.prepare(sql);
+      binder.bind(stmt);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return mapper.map(rs);
+      }
+    } catch (SQLException e) {
+      connection = replaceIfBroken(connection);
+      throw e;
+    } finally {
+      idle.add(connection);
+    }
+  }
+
+  public int update(String sql, StatementBinder binder) throws SQLException {
+    PooledConnection connection = borrow();
+    try {
+      PreparedStatement stmt = connection.prepare(sql);
+      binder.bind(stmt);
+      return stmt.executeUpdate();
+    } catch (SQLException e) {
+      connection = replaceIfBroken(connection);
+      throw e;
+    } finally {
+      idle.add(connection);
+    }
+  }
+
+  public int size() {
+    return all.size();
+  }
+
+  @Override
+  public void close() {
+    synchronized (all) {
+      for (PooledConnection connection : all) {
+        connection.close();
+      }
+      all.clear();
+    }
+  }
+
+  private PooledConnection borrow() throws SQLException {
+    try {
+      return idle.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a JDBC connection", e);
+    }
+  }
+
+  // A failed query leaves the connection in the pool unless the failure closed it (e.g. a node left)
+  private PooledConnection replaceIfBroken(PooledConnection connection) {
+    try {
+      if (connection.connection.isValid(1)) {
+        return connection;
+      }
+    } catch (SQLException e) {
+      // Broken as well
+    }
+    connection.close();
+    try {
+      PooledConnection replacement = new PooledConnection(DriverManager.getConnection(url));
+      synchronized (all) {
+        all.remove(connection);
+        all.add(replacement);
+      }
+      return replacement;
+    } catch (SQLException e) {
+      // Keep the broken one, the next query on it fails and tries again
+      return connection;
+    }
+  }
+
+  private static class PooledConnection {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    PooledConnection(Connection connection) {
+      this.connection = connection;
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+      PreparedStatement stmt = statements.get(sql);
+      if (stmt == null) {
+        stmt = connection.prepareStatement(sql);
+        statements.put(sql, stmt);
+      }
+      return stmt;
+    }
+
+    void close() {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        // Nothing left to release
+      }
+    }
+  }
+
+}
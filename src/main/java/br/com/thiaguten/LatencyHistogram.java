@@ -0,0 +1,116 @@
+package br.com.thiaguten;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free latency histogram in nanoseconds. Buckets are log-linear, like HdrHistogram with one
+// significant digit: every power of two is split into 16 sub-buckets, so a percentile is at most ~6%
+// above the real value, and recording costs two atomic increments whatever the value is.
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(index(value));
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+    }
+    return new Snapshot(copy, max.get());
+  }
+
+  // Interval reporting: what was recorded since the previous call. Values recorded while the buckets
+  // are being read end up in this snapshot or in the next one, none is lost.
+  public Snapshot snapshotAndReset() {
+    long[] copy = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.getAndSet(i, 0);
+    }
+    return new Snapshot(copy, max.getAndSet(0));
+  }
+
+  private static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  // Highest value that falls in the bucket
+  private static long upperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  public static class Snapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long max;
+
+    Snapshot(long[] counts, long max) {
+      this.counts = counts;
+      this.max = max;
+      long total = 0;
+      for (long c : counts) {
+        total += c;
+      }
+      this.count = total;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMaxNanos() {
+      return max;
+    }
+
+    // percentile in [0, 100], e.g. 99.9
+    public long getPercentileNanos(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(upperBound(i), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return count + " ops"
+          + ", p50 " + micros(getPercentileNanos(50))
+          + ", p99 " + micros(getPercentileNanos(99))
+          + ", p999 " + micros(getPercentileNanos(99.9))
+          + ", max " + micros(max);
+    }
+
+    private static String micros(long nanos) {
+      return String.format("%.1f us", nanos / (double) TimeUnit.MICROSECONDS.toNanos(1));
+    }
+  }
+
+}
@@ -0,0 +1,135 @@
+package br.com.thiaguten;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+
+// N server nodes plus client nodes on the local host, for scaling experiments. Every node has its own
+// instance name ("server-1", "client-1" ...) and work directory, and they all find each other through
+// the discovery configured in Environment.
+//
+// In-JVM servers are the quickest to start, forked servers each run in their own JVM (own heap, GC and
+// CPU scheduling), closer to real hosts. Client nodes always run in this JVM, they drive the workloads.
+public class LocalCluster implements AutoCloseable {
+
+  private static final long FORKED_START_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+  private final List<Ignite> servers = new ArrayList<>();
+  private final List<Ignite> clients = new ArrayList<>();
+  private final List<Process> processes = new ArrayList<>();
+
+  private LocalCluster() {
+  }
+
+  public static LocalCluster start(int servers, int clients, boolean forked) {
+    if (servers < 1) {
+      throw new IllegalArgumentException("At least one server node is required: " + servers);
+    }
+    if (forked && clients < 1) {
+      throw new IllegalArgumentException("Forked servers need at least one client node to drive them");
+    }
+
+    LocalCluster cluster = new LocalCluster();
+    try {
+      for (int i = 1; i <= servers; i++) {
+        if (forked) {
+          cluster.processes.add(fork("server-" + i));
+        } else {
+          cluster.servers.add(Environment.newIgnite(Environment.newIgniteConfiguration("server-" + i)));
+        }
+      }
+      for (int i = 1; i <= clients; i++) {
+        cluster.clients.add(Environment.newIgniteClient("client-" + i));
+      }
+      cluster.awaitServers(servers);
+      return cluster;
+    } catch (RuntimeException e) {
+      cluster.close();
+      throw e;
+    }
+  }
+
+  // In-JVM server nodes, empty when the servers are forked
+  public List<Ignite> servers() {
+    return Collections.unmodifiableList(servers);
+  }
+
+  public List<Ignite> clients() {
+    return Collections.unmodifiableList(clients);
+  }
+
+  // The node to create caches and run workloads from: the first client, or the first server
+  public Ignite driver() {
+    return clients.isEmpty() ? servers.get(0) : clients.get(0);
+  }
+
+  public int serverCount() {
+    return driver().cluster().forServers().nodes().size();
+  }
+
+  @Override
+  public void close() {
+    for (Ignite client : clients) {
+      client.close();
+    }
+    for (int i = servers.size() - 1; i >= 0; i--) {
+      servers.get(i).close();
+    }
+    for (Process process : processes) {
+      process.destroy();
+    }
+    for (Process process : processes) {
+      try {
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        process.destroyForcibly();
+      }
+    }
+  }
+
+  private void awaitServers(int expected) {
+    long deadline = System.currentTimeMillis() + FORKED_START_TIMEOUT_MILLIS;
+    while (serverCount() < expected) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IgniteException("Only " + serverCount() + " of " + expected + " server nodes joined the cluster");
+      }
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IgniteException(e);
+      }
+    }
+  }
+
+  // Same classpath and JVM as this one, the node log goes to target/ignite/<name>.log
+  private static Process fork(String igniteInstanceName) {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    Path log = Paths.get(".", "target", "ignite", igniteInstanceName + ".log").toAbsolutePath().normalize();
+    log.getParent().toFile().mkdirs();
+    try {
+      return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          LocalCluster.class.getName(), igniteInstanceName)
+          .redirectErrorStream(true)
+          .redirectOutput(log.toFile())
+          .start();
+    } catch (IOException e) {
+      throw new IgniteException("Failed to fork server node " + igniteInstanceName, e);
+    }
+  }
+
+  // Entry point of the forked server nodes: runs until the process is destroyed
+  public static void main(String[] args) {
+    Environment.newIgnite(Environment.newIgniteConfiguration(args[0]));
+  }
+
+}
@@ -0,0 +1,107 @@
+package br.com.thiaguten;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+
+// Walks a whole cache with binary keys (Person) with one ScanQuery per partition, the partitions being
+// scanned in parallel on a ForkJoinPool. The entries stay BinaryObjects (keepBinary), the filter and the
+// transformer run on the node that owns the partition and only the transformed results come back, e.g.
+// a few fields with Projection instead of whole entries.
+//
+// The filter and the transformer are serialized to the server nodes, so they must be classes (or
+// lambdas) the servers have on their classpath. The consumer is called concurrently from the pool
+// threads and must be thread-safe.
+public class PartitionScanEngine {
+
+  private final Ignite ignite;
+  private final ForkJoinPool pool;
+  private int pageSize = ScanQuery.DFLT_PAGE_SIZE;
+
+  public PartitionScanEngine(Ignite ignite, ForkJoinPool pool) {
+    this.ignite = ignite;
+    this.pool = pool;
+  }
+
+  public PartitionScanEngine setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  public <R> long scan(String cacheName, IgniteBiPredicate<BinaryObject, BinaryObject> filter,
+      IgniteClosure<Cache.Entry<BinaryObject, BinaryObject>, R> transformer, Consumer<? super R> consumer) {
+    IgniteCache<BinaryObject, BinaryObject> cache = ignite.cache(cacheName).withKeepBinary();
+    int partitions = ignite.affinity(cacheName).partitions();
+
+    List<Callable<Long>> tasks = new ArrayList<>(partitions);
+    for (int part = 0; part < partitions; part++) {
+      ScanQuery<BinaryObject, BinaryObject> query = new ScanQuery<>(part, filter);
+      query.setPageSize(pageSize);
+      tasks.add(() -> {
+        long rows = 0;
+        try (QueryCursor<R> cursor = cache.query(query, transformer)) {
+          for (R row : cursor) {
+            consumer.accept(row);
+            rows++;
+          }
+        }
+        return rows;
+      });
+    }
+
+    long rows = 0;
+    try {
+      for (Future<Long> future : pool.invokeAll(tasks)) {
+        rows += future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IgniteException(e);
+    } catch (ExecutionException e) {
+      throw new IgniteException("Partition scan of " + cacheName + " failed", e.getCause());
+    }
+    return rows;
+  }
+
+  // Transformer that returns the given key fields followed by the given value fields, like a SQL row
+  // (SELECT id, city_id, name FROM Person is new Projection({"id", "city_id"}, {"name"}))
+  public static class Projection implements IgniteClosure<Cache.Entry<BinaryObject, BinaryObject>, List<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] keyFields;
+    private final String[] valueFields;
+
+    public Projection(String[] keyFields, String[] valueFields) {
+      this.keyFields = keyFields;
+      this.valueFields = valueFields;
+    }
+
+    @Override
+    public List<?> apply(Cache.Entry<BinaryObject, BinaryObject> entry) {
+      Object[] row = new Object[keyFields.length + valueFields.length];
+      for (int i = 0; i < keyFields.length; i++) {
+        row[i] = entry.getKey().field(keyFields[i]);
+      }
+      for (int i = 0; i < valueFields.length; i++) {
+        row[keyFields.length + i] = entry.getValue().field(valueFields[i]);
+      }
+      return Arrays.asList(row);
+    }
+  }
+
+}
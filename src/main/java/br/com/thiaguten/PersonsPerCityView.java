@@ -0,0 +1,143 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.PERSON_CACHE_NAME;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.EventType;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+
+// Persons per city kept up to date by a ContinuousQuery on the Person cache, on the node that creates
+// it: city_id -> (person id -> name) in local maps. Reading the count or the names of a city is a map
+// lookup instead of a SQL scan of the Person rows.
+//
+// The continuous query is registered with a ScanQuery as initial query, so no update is missed between
+// the snapshot and the first event. The events that arrive while the snapshot is loaded may be older or
+// newer than the snapshot rows, they are held back and applied after it, in the order they came, which
+// leaves every person with its latest value. PersonPK holds the city, so a person never moves between
+// cities: updates only change the name, removals and expirations drop the person.
+//
+// The view lives as long as the node that created it, close it to unregister the continuous query.
+public class PersonsPerCityView implements AutoCloseable {
+
+  private final ConcurrentMap<Long, ConcurrentMap<Long, String>> cities = new ConcurrentHashMap<>();
+  private final Object lock = new Object();
+  private final QueryCursor<Cache.Entry<BinaryObject, BinaryObject>> cursor;
+  // Events received before the snapshot was loaded, null afterwards
+  private List<CacheEntryEvent<? extends BinaryObject, ? extends BinaryObject>> pending = new ArrayList<>();
+  private volatile BiConsumer<Long, String> updateListener = (id, name) -> { };
+
+  public PersonsPerCityView(Ignite ignite) {
+    IgniteCache<BinaryObject, BinaryObject> cache = ignite.cache(PERSON_CACHE_NAME).withKeepBinary();
+
+    ContinuousQuery<BinaryObject, BinaryObject> query = new ContinuousQuery<>();
+    query.setInitialQuery(new ScanQuery<>());
+    query.setLocalListener(this::onUpdated);
+    cursor = cache.query(query);
+
+    // The listener is registered by now, unregister it if the snapshot fails (node left, unreadable
+    // entry ...) since the caller gets no view to close
+    try {
+      for (Cache.Entry<BinaryObject, BinaryObject> entry : cursor) {
+        put(entry.getKey(), entry.getValue());
+      }
+    } catch (RuntimeException e) {
+      try {
+        cursor.close();
+      } catch (RuntimeException closeFailure) {
+        e.addSuppressed(closeFailure);
+      }
+      throw e;
+    }
+    synchronized (lock) {
+      pending.forEach(this::apply);
+      pending = null;
+    }
+  }
+
+  // Called with the person id and its new name (null when removed) once the view reflects the change
+  public PersonsPerCityView setUpdateListener(BiConsumer<Long, String> updateListener) {
+    this.updateListener = updateListener;
+    return this;
+  }
+
+  public int personCount(long cityId) {
+    Map<Long, String> persons = cities.get(cityId);
+    return persons == null ? 0 : persons.size();
+  }
+
+  // Live, read-only view of the names of the persons of the city
+  public Collection<String> personNames(long cityId) {
+    Map<Long, String> persons = cities.get(cityId);
+    return persons == null ? Collections.emptyList() : Collections.unmodifiableCollection(persons.values());
+  }
+
+  public int cityCount() {
+    return cities.size();
+  }
+
+  public Map<Long, Long> personCountsByCity() {
+    Map<Long, Long> counts = new HashMap<>();
+    cities.forEach((cityId, persons) -> counts.put(cityId, (long) persons.size()));
+    return counts;
+  }
+
+  @Override
+  public void close() {
+    cursor.close();
+  }
+
+  private void onUpdated(Iterable<CacheEntryEvent<? extends BinaryObject, ? extends BinaryObject>> events) {
+    synchronized (lock) {
+      if (pending != null) {
+        events.forEach(pending::add);
+        return;
+      }
+    }
+    events.forEach(this::apply);
+  }
+
+  private void apply(CacheEntryEvent<? extends BinaryObject, ? extends BinaryObject> event) {
+    if (event.getEventType() == EventType.REMOVED || event.getEventType() == EventType.EXPIRED) {
+      remove(event.getKey());
+    } else {
+      put(event.getKey(), event.getValue());
+    }
+  }
+
+  private void put(BinaryObject key, BinaryObject value) {
+    Long id = key.field("ID");
+    String name = value.field("NAME");
+    // compute() so that a concurrent removal of the last person cannot drop the map being added to
+    cities.compute(key.field("CITY_ID"), (cityId, persons) -> {
+      ConcurrentMap<Long, String> updated = persons == null ? new ConcurrentHashMap<>() : persons;
+      updated.put(id, name);
+      return updated;
+    });
+    updateListener.accept(id, name);
+  }
+
+  private void remove(BinaryObject key) {
+    Long id = key.field("ID");
+    cities.computeIfPresent(key.field("CITY_ID"), (cityId, persons) -> {
+      persons.remove(id);
+      return persons.isEmpty() ? null : persons;
+    });
+    updateListener.accept(id, null);
+  }
+
+}
@@ -0,0 +1,301 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CITY_CACHE_NAME;
+import static br.com.thiaguten.Environment.COUNT_PERSONS_BY_CITY_SQL;
+import static br.com.thiaguten.Environment.COUNT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.PERSON_CITY_JOIN_SQL;
+import static br.com.thiaguten.Environment.SCHEMA;
+import static br.com.thiaguten.Environment.SELECT_CITIES_SQL;
+import static br.com.thiaguten.Environment.SELECT_CITY_KEYS_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSONS_OF_CITY_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSONS_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSON_BY_KEY_SQL;
+import static br.com.thiaguten.Environment.SELECT_PERSON_KEYS_SQL;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+
+// Runs EXPLAIN for every SQL query the samples use, against each way of creating the caches, on one
+// embedded node, and keeps the steps of each plan in plan order: every table access as
+// <table>:<index>(<columns>) for an index seek on those columns, <table>:<index>(full) for a walk of the
+// whole index and <table>:__SCAN_ for a table scan, the merge steps of the reduce query, and a
+// "batched:unicast "/"batched:broadcast " prefix on the distributed join lookups. H2 annotations that are
+// not a table access (index sorted, group sorted ...) are left out. Args: "record" to write the
+// baseline, "check" (default) to compare against it, and the baseline file.
+//
+// The check fails (exit status 1) when a table gets fewer index seeks or more full reads (scan or index
+// walk) than before, so a seek turning into a walk of the same index is caught, or when a query gets
+// more batched steps. Other differences, e.g. another index picked for a seek or the same steps in
+// another order, are reported as changes and need a new "record".
+//
+// The baseline is a development file next to the pom, read and written by path, not a classpath
+// resource: it describes this source tree and is not packaged.
+public class QueryPlanChecker {
+
+  private static final Path DEFAULT_BASELINE = Paths.get("query-plan-baseline.properties");
+
+  // A table access is the table, its optional alias and the comment H2 puts after it, e.g.
+  // FROM MY_SCHEMA.PERSON P__Z0 /* MY_SCHEMA."_key_PK": ID = ?1 AND CITY_ID = ?2 */, the same after JOIN,
+  // or FROM PUBLIC.__T0 /* MY_SCHEMA."merge_scan" */ in the reduce query
+  private static final Pattern ACCESS = Pattern.compile(
+      "\\b(?:FROM|JOIN)\\s+([\\w.]+)(?:\\s+\\w+)?\\s*/\\*\\s*(.+?)\\s*\\*/", Pattern.DOTALL);
+  private static final Pattern COLUMN = Pattern.compile("[\\w.]+");
+  private static final String STEP_SEPARATOR = "; ";
+  private static final String SCAN = "__SCAN_";
+  private static final String FULL = "(full)";
+  private static final String BATCHED = "batched:";
+
+  private static final Map<String, Consumer<Ignite>> VARIANTS = new LinkedHashMap<>();
+  private static final Map<String, SqlFieldsQuery> MODEL_QUERIES = new LinkedHashMap<>();
+  private static final Map<String, SqlFieldsQuery> KEY_QUERIES = new LinkedHashMap<>();
+
+  static {
+    VARIANTS.put("ModelCacheConfig", IgniteModelCacheConfig::createCaches);
+    VARIANTS.put("ModelCacheDDL", IgniteModelCacheDDL::createCaches);
+    VARIANTS.put("BinaryCacheConfig", IgniteBinaryCacheConfig::createCaches);
+    VARIANTS.put("BinaryCacheDDL", IgniteBinaryCacheDDL::createCaches);
+    VARIANTS.put("MyPreferredWay1", IgniteCacheMyPreferredWay1::createCaches);
+    VARIANTS.put("MyPreferredWay2", IgniteCacheMyPreferredWay2::createCaches);
+    VARIANTS.put("SchemaBootstrapper", SchemaBootstrapper::bootstrap);
+
+    MODEL_QUERIES.put("cities", new SqlFieldsQuery(SELECT_CITIES_SQL));
+    MODEL_QUERIES.put("persons", new SqlFieldsQuery(SELECT_PERSONS_SQL));
+    MODEL_QUERIES.put("personsOfCity", new SqlFieldsQuery(SELECT_PERSONS_OF_CITY_SQL).setArgs(1L));
+    MODEL_QUERIES.put("personByKey", new SqlFieldsQuery(SELECT_PERSON_BY_KEY_SQL).setArgs(1L, 1L));
+    MODEL_QUERIES.put("join", new SqlFieldsQuery(PERSON_CITY_JOIN_SQL));
+    MODEL_QUERIES.put("collocatedJoin", new SqlFieldsQuery(PERSON_CITY_JOIN_SQL)
+        .setCollocated(true)
+        .setDistributedJoins(false));
+    MODEL_QUERIES.put("joinOfCity", new SqlFieldsQuery(PERSON_CITY_JOIN_OF_CITY_SQL).setArgs(1L));
+    MODEL_QUERIES.put("countPersonsOfCity", new SqlFieldsQuery(COUNT_PERSONS_OF_CITY_SQL).setArgs(1L));
+    MODEL_QUERIES.put("countPersonsByCity", new SqlFieldsQuery(COUNT_PERSONS_BY_CITY_SQL));
+    MODEL_QUERIES.put("collocatedCountPersonsByCity", new SqlFieldsQuery(COUNT_PERSONS_BY_CITY_SQL)
+        .setCollocated(true));
+
+    KEY_QUERIES.put("cityKeys", new SqlFieldsQuery(SELECT_CITY_KEYS_SQL));
+    KEY_QUERIES.put("personKeys", new SqlFieldsQuery(SELECT_PERSON_KEYS_SQL));
+  }
+
+  public static void main(String[] args) throws IOException {
+    String mode = args.length > 0 ? args[0] : "check";
+    Path baseline = args.length > 1 ? Paths.get(args[1]) : DEFAULT_BASELINE;
+
+    Map<String, String> plans;
+    try (Ignite ignite = Environment.newFastStartIgnite()) {
+      plans = collectPlans(ignite);
+    }
+
+    if ("record".equals(mode)) {
+      store(plans, baseline);
+      System.out.println("> Recorded " + plans.size() + " query plans to " + baseline);
+      return;
+    }
+
+    int regressions = check(load(baseline), plans);
+    System.exit(regressions > 0 ? 1 : 0);
+  }
+
+  public static Map<String, String> collectPlans(Ignite ignite) {
+    Map<String, String> plans = new TreeMap<>();
+    VARIANTS.forEach((variant, createCaches) -> {
+      createCaches.accept(ignite);
+      try {
+        Map<String, SqlFieldsQuery> queries = variant.startsWith("MyPreferredWay") ? KEY_QUERIES : MODEL_QUERIES;
+        queries.forEach((name, query) -> plans.put(variant + "." + name, planSteps(ignite, query)));
+      } finally {
+        ignite.destroyCaches(ignite.cacheNames());
+      }
+    });
+    return plans;
+  }
+
+  // EXPLAIN with the flags and arguments of the query itself, they change the plan. Returns the steps
+  // of all the plan rows (map queries first, then the reduce query) in plan order.
+  public static String planSteps(Ignite ignite, SqlFieldsQuery query) {
+    SqlFieldsQuery explain = new SqlFieldsQuery("EXPLAIN " + query.getSql())
+        .setArgs(query.getArgs())
+        .setCollocated(query.isCollocated())
+        .setDistributedJoins(query.isDistributedJoins())
+        .setSchema(SCHEMA);
+
+    List<String> steps = new ArrayList<>();
+    for (List<?> row : ignite.cache(CITY_CACHE_NAME).query(explain).getAll()) {
+      Matcher matcher = ACCESS.matcher(String.valueOf(row.get(0)));
+      while (matcher.find()) {
+        steps.add(step(matcher.group(1), matcher.group(2)));
+      }
+    }
+    return String.join(STEP_SEPARATOR, steps);
+  }
+
+  // <table>:<index>(<seek columns>), <table>:<index>(full) or <table>:__SCAN_ from the table and its
+  // comment, e.g. PERSON and MY_SCHEMA."_key_PK": ID = ?1 AND CITY_ID = ?2 give PERSON:_key_PK(ID, CITY_ID).
+  // The merge steps keep their name only, the reduce table (__T0 ...) says nothing.
+  private static String step(String table, String comment) {
+    String access = comment.replace("\"", "");
+    String batched = "";
+    if (access.startsWith(BATCHED)) {
+      int end = access.indexOf(' ');
+      batched = access.substring(0, end + 1);
+      access = access.substring(end + 1).trim();
+    }
+    int colon = access.indexOf(':');
+    String index = unqualified(colon < 0 ? access : access.substring(0, colon));
+    if (index.startsWith("merge_")) {
+      return index;
+    }
+
+    String step = batched + unqualified(table) + ":" + index;
+    if (index.equals(SCAN)) {
+      return step;
+    }
+    return step + (colon < 0 ? FULL : "(" + String.join(", ", seekColumns(access.substring(colon + 1))) + ")");
+  }
+
+  // The columns the index condition is on, e.g. ID and CITY_ID for ID = ?1 AND CITY_ID = C__Z1.ID
+  private static Set<String> seekColumns(String condition) {
+    Set<String> columns = new LinkedHashSet<>();
+    for (String term : condition.split("\\bAND\\b")) {
+      Matcher column = COLUMN.matcher(term.trim());
+      if (column.lookingAt()) {
+        columns.add(unqualified(column.group()));
+      }
+    }
+    return columns;
+  }
+
+  private static String unqualified(String name) {
+    return name.substring(name.lastIndexOf('.') + 1).trim();
+  }
+
+  private static int check(Map<String, String> baseline, Map<String, String> plans) {
+    int regressions = 0;
+    int changes = 0;
+    for (Map.Entry<String, String> plan : plans.entrySet()) {
+      String query = plan.getKey();
+      String expected = baseline.get(query);
+      if (expected == null) {
+        System.out.println("> [NEW] " + query + ": " + plan.getValue());
+        changes++;
+        continue;
+      }
+      if (expected.equals(plan.getValue())) {
+        continue;
+      }
+
+      // Counted per table, not looked up per step, so a step repeated in the plan (e.g. the map and the
+      // reduce query) is not lost without notice, and a seek moving to another index of the table is not
+      // taken for a loss
+      Map<String, int[]> before = tableReads(expected);
+      Map<String, int[]> after = tableReads(plan.getValue());
+      List<String> problems = new ArrayList<>();
+      before.forEach((table, reads) -> {
+        int seeks = after.getOrDefault(table, new int[3])[SEEKS];
+        if (seeks < reads[SEEKS]) {
+          problems.add("fewer index seeks on " + table + " (" + reads[SEEKS] + " -> " + seeks + ")");
+        }
+      });
+      after.forEach((table, reads) -> {
+        int[] previous = before.getOrDefault(table, new int[3]);
+        if (reads[FULL_READS] > previous[FULL_READS]) {
+          problems.add("more full reads of " + table + " (" + previous[FULL_READS] + " -> " + reads[FULL_READS] + ")");
+        }
+        if (reads[BATCHED_READS] > previous[BATCHED_READS]) {
+          problems.add("more batched lookups on " + table
+              + " (" + previous[BATCHED_READS] + " -> " + reads[BATCHED_READS] + ")");
+        }
+      });
+
+      if (problems.isEmpty()) {
+        System.out.println("> [CHANGED] " + query + ": " + expected + " -> " + plan.getValue());
+        changes++;
+      } else {
+        System.out.println("> [REGRESSION] " + query + ": " + String.join(", ", problems)
+            + " (" + expected + " -> " + plan.getValue() + ")");
+        regressions++;
+      }
+    }
+    for (String query : baseline.keySet()) {
+      if (!plans.containsKey(query)) {
+        System.out.println("> [MISSING] " + query + " is in the baseline but was not run");
+        changes++;
+      }
+    }
+
+    System.out.println("> " + plans.size() + " query plans checked: " + regressions + " regressions, "
+        + changes + " changes" + (changes > 0 ? " (run \"record\" to accept them)" : ""));
+    return regressions;
+  }
+
+  private static final int SEEKS = 0;
+  private static final int FULL_READS = 1;
+  private static final int BATCHED_READS = 2;
+
+  // Per table: index seeks, full reads (table scans and whole index walks) and batched lookups
+  private static Map<String, int[]> tableReads(String plan) {
+    Map<String, int[]> reads = new HashMap<>();
+    for (String step : steps(plan)) {
+      boolean batched = step.startsWith(BATCHED);
+      String access = batched ? step.substring(step.indexOf(' ') + 1) : step;
+      int colon = access.indexOf(':');
+      if (colon < 0) {
+        // A merge step of the reduce query
+        continue;
+      }
+      int[] counts = reads.computeIfAbsent(access.substring(0, colon), table -> new int[3]);
+      counts[access.endsWith(SCAN) || access.endsWith(FULL) ? FULL_READS : SEEKS]++;
+      if (batched) {
+        counts[BATCHED_READS]++;
+      }
+    }
+    return reads;
+  }
+
+  private static List<String> steps(String plan) {
+    return plan.isEmpty() ? Collections.emptyList() : Arrays.asList(plan.split(STEP_SEPARATOR));
+  }
+
+  private static Map<String, String> load(Path baseline) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(baseline, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+    return properties.stringPropertyNames().stream()
+        .collect(Collectors.toMap(name -> name, properties::getProperty, (a, b) -> a, TreeMap::new));
+  }
+
+  // Written by hand instead of Properties.store, sorted and without a timestamp, so it diffs cleanly
+  private static void store(Map<String, String> plans, Path baseline) throws IOException {
+    Files.createDirectories(baseline.toAbsolutePath().getParent());
+    try (Writer writer = Files.newBufferedWriter(baseline, StandardCharsets.UTF_8)) {
+      writer.write("# EXPLAIN steps per <cache creation>.<query>, written by QueryPlanChecker record\n");
+      for (Map.Entry<String, String> plan : plans.entrySet()) {
+        writer.write(plan.getKey() + "=" + plan.getValue() + "\n");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+package br.com.thiaguten;
+
+import static br.com.thiaguten.Environment.CREATE_CITY_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_CITY_TABLE_DDL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_NAME_INDEX_DLL;
+import static br.com.thiaguten.Environment.CREATE_PERSON_TABLE_DDL;
+import static br.com.thiaguten.Environment.SCHEMA;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+
+// Creates the City and Person tables with their indexes through one entry point, a JDBC thin connection
+// to the client connector of the given node, running CREATE_CITY_TABLE_DDL, CREATE_PERSON_TABLE_DDL and
+// the two CREATE INDEX statements. No cache is started to send the DDL from, so only the two CREATE TABLE
+// cost a partition map exchange each; the dummy entry point cache of IgniteBinaryCacheDDL and
+// IgniteCacheMyPreferredWay1/2 adds its own start and stop.
+//
+// CREATE TABLE is what gives the tables their primary key index (_key_PK): a cache configured with
+// QueryEntity and the same fields has none, and its point selects on Person by (id, city_id) go through
+// AFFINITY_KEY. The plans are the ones of IgniteBinaryCacheDDL (see QueryPlanChecker). Every statement is
+// IF NOT EXISTS, so running it on an existing schema changes nothing.
+public class SchemaBootstrapper {
+
+  public static Result bootstrap(Ignite ignite) {
+    AffinityTopologyVersion before = topologyVersion(ignite);
+    long start = System.nanoTime();
+    try (Connection connection = DriverManager.getConnection(jdbcUrl(ignite));
+        Statement stmt = connection.createStatement()) {
+      stmt.executeUpdate(CREATE_CITY_TABLE_DDL);
+      stmt.executeUpdate(CREATE_PERSON_TABLE_DDL);
+      stmt.executeUpdate(CREATE_CITY_NAME_INDEX_DLL);
+      stmt.executeUpdate(CREATE_PERSON_NAME_INDEX_DLL);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Schema bootstrap failed", e);
+    }
+    return new Result(System.nanoTime() - start, exchanges(before, topologyVersion(ignite)));
+  }
+
+  // The port the node's client connector is actually bound to, the configured one being only the first
+  // of its port range. Internal API.
+  public static String jdbcUrl(Ignite ignite) {
+    ClientConnectorConfiguration connector = ignite.configuration().getClientConnectorConfiguration();
+    String host = connector != null && connector.getHost() != null ? connector.getHost() : "127.0.0.1";
+    int port = ((IgniteEx) ignite).context().sqlListener().port();
+    return "jdbc:ignite:thin://" + host + ":" + port + "/" + SCHEMA;
+  }
+
+  // Every partition map exchange bumps the topology version: the major version on node join/leave, the
+  // minor version on cache start/stop and the other exchanges of a stable topology. Internal API.
+  public static AffinityTopologyVersion topologyVersion(Ignite ignite) {
+    return ((IgniteEx) ignite).context().discovery().topologyVersionEx();
+  }
+
+  // Exchanges between two topology versions, or -1 when a node joined or left in between: the minor
+  // version starts again from 0 on every major version, so the difference would mean nothing
+  public static long exchanges(AffinityTopologyVersion before, AffinityTopologyVersion after) {
+    return before.topologyVersion() == after.topologyVersion()
+        ? after.minorTopologyVersion() - before.minorTopologyVersion()
+        : -1;
+  }
+
+  public static class Result {
+
+    private final long elapsedNanos;
+    private final long exchanges;
+
+    Result(long elapsedNanos, long exchanges) {
+      this.elapsedNanos = elapsedNanos;
+      this.exchanges = exchanges;
+    }
+
+    public long getElapsedMillis() {
+      return elapsedNanos / 1_000_000;
+    }
+
+    // -1 when the topology changed during the bootstrap
+    public long getExchanges() {
+      return exchanges;
+    }
+
+    @Override
+    public String toString() {
+      return "> Schema bootstrap: " + getElapsedMillis() + " ms, "
+          + (exchanges < 0 ? "exchanges unknown (topology changed)" : exchanges + " exchanges");
+    }
+  }
+
+}
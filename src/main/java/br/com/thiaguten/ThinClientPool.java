@@ -0,0 +1,58 @@
+package br.com.thiaguten;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.ClientConfiguration;
+
+// A fixed number of thin clients handed out round-robin. One IgniteClient is thread-safe but keeps a
+// single socket per server node, and the requests of all the threads queue on it; with more clients
+// the requests spread over more sockets (and server threads). Each client opens its own connections to
+// every address of the configuration.
+public class ThinClientPool implements AutoCloseable {
+
+  private final IgniteClient[] clients;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ThinClientPool(ClientConfiguration clientConfig, int connections) {
+    if (connections < 1) {
+      throw new IllegalArgumentException("connections must be positive: " + connections);
+    }
+    clients = new IgniteClient[connections];
+    try {
+      for (int i = 0; i < connections; i++) {
+        clients[i] = Ignition.startClient(clientConfig);
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  public IgniteClient client() {
+    return clients[Math.floorMod(next.getAndIncrement(), clients.length)];
+  }
+
+  public <K, V> ClientCache<K, V> cache(String cacheName) {
+    return client().cache(cacheName);
+  }
+
+  public int size() {
+    return clients.length;
+  }
+
+  @Override
+  public void close() {
+    for (IgniteClient client : clients) {
+      if (client != null) {
+        try {
+          client.close();
+        } catch (Exception e) {
+          // Keep closing the others, a broken connection has nothing left to release
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+package br.com.thiaguten;
+
+import java.util.Random;
+
+// Zipfian distribution over the ranks [0, items), rank 0 being the most frequent one. Same algorithm as
+// YCSB (Gray et al., "Quickly Generating Billion-Record Synthetic Databases"): the zeta constant is
+// computed once, O(items), and each sample costs one Math.pow.
+//
+// The distribution holds no mutable state, the caller passes the Random: ThreadLocalRandom for
+// concurrent benchmarks, a seeded Random for reproducible datasets.
+public class ZipfianDistribution {
+
+  // The YCSB default, roughly "20% of the items get 80% of the requests"
+  public static final double DEFAULT_THETA = 0.99;
+
+  private final long items;
+  private final double theta;
+  private final double zetan;
+  private final double alpha;
+  private final double eta;
+
+  public ZipfianDistribution(long items) {
+    this(items, DEFAULT_THETA);
+  }
+
+  public ZipfianDistribution(long items, double theta) {
+    if (items < 1) {
+      throw new IllegalArgumentException("items must be positive: " + items);
+    }
+    if (theta <= 0 || theta >= 1) {
+      throw new IllegalArgumentException("theta must be in (0, 1): " + theta);
+    }
+    this.items = items;
+    this.theta = theta;
+    this.zetan = zeta(items, theta);
+    this.alpha = 1 / (1 - theta);
+    this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+  }
+
+  public long getItems() {
+    return items;
+  }
+
+  public long sample(Random random) {
+    double u = random.nextDouble();
+    double uz = u * zetan;
+    if (uz < 1) {
+      return 0;
+    }
+    if (uz < 1 + Math.pow(0.5, theta)) {
+      return Math.min(1, items - 1);
+    }
+    return Math.min((long) (items * Math.pow(eta * u - eta + 1, alpha)), items - 1);
+  }
+
+  private static double zeta(long n, double theta) {
+    double sum = 0;
+    for (long i = 1; i <= n; i++) {
+      sum += 1 / Math.pow(i, theta);
+    }
+    return sum;
+  }
+
+}
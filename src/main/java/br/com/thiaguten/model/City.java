@@ -1,8 +1,12 @@
 package br.com.thiaguten.model;
 
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.binary.Binarylizable;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 
-public class City {
+public class City implements Binarylizable {
 
   @QuerySqlField
   private Long ID;
@@ -31,4 +35,20 @@ public class City {
     this.NAME = name;
   }
 
+  // Same field names, types and order as the reflective form, so SQL columns and existing entries still match.
+  // A null id is left out of the object and read back as null.
+  @Override
+  public void writeBinary(BinaryWriter writer) throws BinaryObjectException {
+    if (ID != null) {
+      writer.writeLong("ID", ID);
+    }
+    writer.writeString("NAME", NAME);
+  }
+
+  @Override
+  public void readBinary(BinaryReader reader) throws BinaryObjectException {
+    ID = reader.readObject("ID");
+    NAME = reader.readString("NAME");
+  }
+
 }
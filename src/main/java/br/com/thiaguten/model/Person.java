@@ -1,8 +1,12 @@
 package br.com.thiaguten.model;
 
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.binary.Binarylizable;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 
-public class Person {
+public class Person implements Binarylizable {
 
   @QuerySqlField(index = true)
   private String NAME;
@@ -19,4 +23,14 @@ public class Person {
     this.NAME = name;
   }
 
+  @Override
+  public void writeBinary(BinaryWriter writer) throws BinaryObjectException {
+    writer.writeString("NAME", NAME);
+  }
+
+  @Override
+  public void readBinary(BinaryReader reader) throws BinaryObjectException {
+    NAME = reader.readString("NAME");
+  }
+
 }
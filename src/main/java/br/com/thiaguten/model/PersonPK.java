@@ -1,9 +1,13 @@
 package br.com.thiaguten.model;
 
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.binary.Binarylizable;
 import org.apache.ignite.cache.affinity.AffinityKeyMapped;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 
-public class PersonPK {
+public class PersonPK implements Binarylizable {
 
   @QuerySqlField
   private Long ID;
@@ -33,4 +37,22 @@ public class PersonPK {
     this.CITY_ID = cityId;
   }
 
+  // Key fields are written in declaration order, the same bytes (and hash code) as the SQL-built keys.
+  // A null field is left out of the object and read back as null, as in City.
+  @Override
+  public void writeBinary(BinaryWriter writer) throws BinaryObjectException {
+    if (ID != null) {
+      writer.writeLong("ID", ID);
+    }
+    if (CITY_ID != null) {
+      writer.writeLong("CITY_ID", CITY_ID);
+    }
+  }
+
+  @Override
+  public void readBinary(BinaryReader reader) throws BinaryObjectException {
+    ID = reader.readObject("ID");
+    CITY_ID = reader.readObject("CITY_ID");
+  }
+
 }
@@ -1,9 +1,13 @@
 package br.com.thiaguten.model2;
 
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.binary.Binarylizable;
 import org.apache.ignite.cache.affinity.AffinityKeyMapped;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 
-public class CityPK {
+public class CityPK implements Binarylizable {
 
     @QuerySqlField
     @AffinityKeyMapped
@@ -21,4 +25,17 @@ public class CityPK {
         this.ID = id;
     }
 
+    // A null id is left out of the object and read back as null, as in model.City
+    @Override
+    public void writeBinary(BinaryWriter writer) throws BinaryObjectException {
+        if (ID != null) {
+            writer.writeLong("ID", ID);
+        }
+    }
+
+    @Override
+    public void readBinary(BinaryReader reader) throws BinaryObjectException {
+        ID = reader.readObject("ID");
+    }
+
 }